@@ -0,0 +1,53 @@
+package com.endesha360.UserManagementService.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Idempotent data/schema fixes that ddl-auto=update cannot express.
+ * Runs after Hibernate has created or updated the tables.
+ */
+@Component
+public class SchemaMigrations implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Applying user-management schema migrations...");
+        
+        keySessionsByTokenHash();
+        
+        logger.info("Schema migrations completed.");
+    }
+    
+    // Sessions used to be looked up (and uniquely indexed) by the full JWT; backfill the digest, then drop that index
+    private void keySessionsByTokenHash() {
+        int backfilled = jdbcTemplate.update("UPDATE user_sessions " +
+                "SET token_hash = encode(sha256(convert_to(session_token, 'UTF8')), 'hex') WHERE token_hash IS NULL");
+        if (backfilled > 0) {
+            logger.info("Backfilled token_hash for {} sessions", backfilled);
+        }
+        jdbcTemplate.execute("ALTER TABLE user_sessions ALTER COLUMN token_hash SET NOT NULL");
+        
+        List<String> tokenConstraints = jdbcTemplate.queryForList(
+                "SELECT c.conname FROM pg_constraint c " +
+                "JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = ANY(c.conkey) " +
+                "WHERE c.conrelid = 'user_sessions'::regclass AND c.contype = 'u' " +
+                "AND a.attname = 'session_token' AND cardinality(c.conkey) = 1", String.class);
+        for (String name : tokenConstraints) {
+            jdbcTemplate.execute("ALTER TABLE user_sessions DROP CONSTRAINT \"" + name + "\"");
+            logger.info("Dropped unique constraint {} on user_sessions.session_token", name);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.endesha360.UserManagementService.dto.request.LoginRequest;
 import com.endesha360.UserManagementService.dto.request.UserRegistrationRequest;
 import com.endesha360.UserManagementService.dto.response.LoginResponse;
 import com.endesha360.UserManagementService.dto.response.UserResponse;
+import com.endesha360.UserManagementService.security.JwtPrincipal;
 import com.endesha360.UserManagementService.service.AuthenticationService;
 import com.endesha360.UserManagementService.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -85,6 +86,10 @@ public class AuthController {
     @GetMapping("/me")
     @Operation(summary = "Get current user info", description = "Get current user information from token")
     public ResponseEntity<LoginResponse.UserInfo> getCurrentUser(HttpServletRequest request) {
+        // Claims already verified by JwtAuthenticationFilter for this request
+        if (request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) instanceof JwtPrincipal principal) {
+            return ResponseEntity.ok(authenticationService.getUserInfo(principal));
+        }
         String token = getTokenFromRequest(request);
         if (token != null) {
             LoginResponse.UserInfo userInfo = authenticationService.getUserInfoFromToken(token);
@@ -3,6 +3,7 @@ package com.endesha360.UserManagementService.controller;
 import com.endesha360.UserManagementService.dto.request.SchoolOwnerRegistrationRequest;
 import com.endesha360.UserManagementService.dto.response.UserResponse;
 import com.endesha360.UserManagementService.dto.response.ActivityResponse;
+import com.endesha360.UserManagementService.security.JwtPrincipal;
 import com.endesha360.UserManagementService.service.SchoolOwnerService;
 import com.endesha360.UserManagementService.service.JwtTokenService;
 import com.endesha360.UserManagementService.service.ActivityService;
@@ -41,11 +42,11 @@ public class SchoolOwnerController {
     @GetMapping("/student-count")
     @Operation(summary = "Get student count for school owner", 
                description = "Returns the number of students registered under the school owner's school tenant")
-    public ResponseEntity<Map<String, Object>> getStudentCount(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<Map<String, Object>> getStudentCount(
+            @RequestHeader("Authorization") String authHeader,
+            @RequestAttribute(name = JwtPrincipal.REQUEST_ATTRIBUTE, required = false) JwtPrincipal principal) {
         try {
-            // Extract token from Authorization header
-            String token = authHeader.substring(7); // Remove "Bearer " prefix
-            Long userId = jwtTokenService.getUserIdFromToken(token);
+            Long userId = userId(principal, authHeader);
             
             // Get student count by school owner's school tenant (not user's tenant)
             long studentCount = schoolOwnerService.getStudentCountBySchoolOwner(userId.toString());
@@ -64,11 +65,10 @@ public class SchoolOwnerController {
                description = "Returns recent activities from the school owner's school tenant")
     public ResponseEntity<Map<String, Object>> getRecentActivities(
             @RequestHeader("Authorization") String authHeader,
+            @RequestAttribute(name = JwtPrincipal.REQUEST_ATTRIBUTE, required = false) JwtPrincipal principal,
             @RequestParam(defaultValue = "10") int limit) {
         try {
-            // Extract token from Authorization header
-            String token = authHeader.substring(7); // Remove "Bearer " prefix
-            Long userId = jwtTokenService.getUserIdFromToken(token);
+            Long userId = userId(principal, authHeader);
             
             // For now, use hardcoded tenant code - should be replaced with dynamic lookup
             String schoolTenantCode = "SAFEDRIV"; // This should be fetched from school service
@@ -90,4 +90,10 @@ public class SchoolOwnerController {
             ));
         }
     }
+
+    // Claims verified by JwtAuthenticationFilter; the header is only parsed when the filter did not run
+    private Long userId(JwtPrincipal principal, String authHeader) {
+        if (principal != null) return principal.userId();
+        return jwtTokenService.parse(authHeader.substring(7)).userId(); // Remove "Bearer " prefix
+    }
 }
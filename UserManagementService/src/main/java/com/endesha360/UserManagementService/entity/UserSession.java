@@ -5,10 +5,17 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import org.hibernate.annotations.CreationTimestamp;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
-@Table(name = "user_sessions")
+@Table(name = "user_sessions", indexes = {
+        // Lookups go by the fixed-width token digest, not the several-hundred-byte JWT
+        @Index(name = "uq_user_sessions_token_hash", columnList = "token_hash", unique = true)
+})
 public class UserSession {
     
     @Id
@@ -17,9 +24,13 @@ public class UserSession {
     
     @NotBlank
     @Size(max = 1000)
-    @Column(name = "session_token", unique = true, nullable = false, length = 1000)
+    @Column(name = "session_token", nullable = false, length = 1000)
     private String sessionToken;
     
+    // SHA-256 hex of sessionToken; see hashToken
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -52,6 +63,7 @@ public class UserSession {
     
     public UserSession(String sessionToken, User user, Tenant tenant, String ipAddress, String userAgent, LocalDateTime expiresAt) {
         this.sessionToken = sessionToken;
+        this.tokenHash = hashToken(sessionToken);
         this.user = user;
         this.tenant = tenant;
         this.ipAddress = ipAddress;
@@ -75,6 +87,11 @@ public class UserSession {
     
     public void setSessionToken(String sessionToken) {
         this.sessionToken = sessionToken;
+        this.tokenHash = hashToken(sessionToken);
+    }
+    
+    public String getTokenHash() {
+        return tokenHash;
     }
     
     public User getUser() {
@@ -144,4 +161,14 @@ public class UserSession {
     public boolean isExpired() {
         return LocalDateTime.now().isAfter(expiresAt);
     }
+    
+    /** Key for session lookups: lowercase hex SHA-256 of the token (same as encode(sha256(...), 'hex') in Postgres). */
+    public static String hashToken(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
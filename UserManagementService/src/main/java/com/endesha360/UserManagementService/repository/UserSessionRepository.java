@@ -14,7 +14,7 @@ import java.util.Optional;
 @Repository
 public interface UserSessionRepository extends JpaRepository<UserSession, Long> {
     
-    Optional<UserSession> findBySessionToken(String sessionToken);
+    Optional<UserSession> findByTokenHash(String tokenHash);
     
     List<UserSession> findByUserIdAndIsActiveTrue(Long userId);
     
@@ -23,8 +23,8 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     @Query("SELECT s FROM UserSession s WHERE s.user.id = :userId AND s.isActive = true AND s.expiresAt > :now")
     List<UserSession> findActiveSessionsByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
     
-    @Query("SELECT s FROM UserSession s WHERE s.sessionToken = :token AND s.isActive = true AND s.expiresAt > :now")
-    Optional<UserSession> findValidSessionByToken(@Param("token") String token, @Param("now") LocalDateTime now);
+    @Query("SELECT s FROM UserSession s WHERE s.tokenHash = :tokenHash AND s.isActive = true AND s.expiresAt > :now")
+    Optional<UserSession> findValidSessionByTokenHash(@Param("tokenHash") String tokenHash, @Param("now") LocalDateTime now);
     
     @Modifying
     @Query("UPDATE UserSession s SET s.isActive = false WHERE s.user.id = :userId")
@@ -33,8 +33,4 @@ public interface UserSessionRepository extends JpaRepository<UserSession, Long>
     @Modifying
     @Query("UPDATE UserSession s SET s.isActive = false WHERE s.expiresAt < :now")
     void deactivateExpiredSessions(@Param("now") LocalDateTime now);
-    
-    @Modifying
-    @Query("UPDATE UserSession s SET s.lastAccessed = :now WHERE s.sessionToken = :token")
-    void updateLastAccessed(@Param("token") String token, @Param("now") LocalDateTime now);
 }
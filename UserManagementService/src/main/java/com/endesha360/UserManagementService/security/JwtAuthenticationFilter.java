@@ -2,13 +2,13 @@ package com.endesha360.UserManagementService.security;
 
 import com.endesha360.UserManagementService.service.JwtTokenService;
 import com.endesha360.UserManagementService.service.SessionService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -16,9 +16,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -37,41 +34,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         if (StringUtils.hasText(token)) {
             try {
-                // Validate token and session
-                if (jwtTokenService.validateToken(token, jwtTokenService.getUsernameFromToken(token)) &&
-                    sessionService.isSessionValid(token)) {
-                    
-                    String username = jwtTokenService.getUsernameFromToken(token);
-                    Long userId = jwtTokenService.getUserIdFromToken(token);
-                    String tenantCode = jwtTokenService.getTenantCodeFromToken(token);
-                    Set<String> roles = jwtTokenService.getRolesFromToken(token);
-                    Set<String> permissions = jwtTokenService.getPermissionsFromToken(token);
-                    
-            // Always add ROLE_<role> for each role, including SUPER_ADMIN
-            List<SimpleGrantedAuthority> authorities = roles.stream()
-                .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                .collect(Collectors.toList());
-            // Add permissions as authorities
-            authorities.addAll(permissions.stream()
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList()));
-                    
+                // One signature check for everything below; throws if the token is invalid or expired
+                JwtPrincipal principal = jwtTokenService.parse(token);
+                if (sessionService.isSessionValid(token)) {
                     // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication = 
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(principal.username(), null, principal.authorities());
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, principal);
                     
                     // Set tenant context
-                    TenantContext.setCurrentTenant(tenantCode);
-                    TenantContext.setCurrentUserId(userId);
+                    TenantContext.setCurrentTenant(principal.tenantCode());
+                    TenantContext.setCurrentUserId(principal.userId());
                     
                     // Update session activity
                     sessionService.updateSessionActivity(token);
                     
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
+            } catch (JwtException | IllegalArgumentException e) {
+                // Expired or tampered tokens are routine: no stack trace on the request path
+                logger.debug("Rejected JWT: " + e.getMessage());
             } catch (Exception e) {
-                logger.error("Cannot set user authentication: {}", e);
+                logger.error("Cannot set user authentication", e);
             }
         }
         
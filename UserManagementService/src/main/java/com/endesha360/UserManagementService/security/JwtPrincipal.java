@@ -0,0 +1,30 @@
+package com.endesha360.UserManagementService.security;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Claims of a verified token, parsed once per request by JwtAuthenticationFilter and kept on the
+ * request under {@link #REQUEST_ATTRIBUTE}.
+ */
+public record JwtPrincipal(String username,
+                           Long userId,
+                           String tenantCode,
+                           Set<String> roles,
+                           Set<String> permissions,
+                           Instant expiresAt) {
+
+    public static final String REQUEST_ATTRIBUTE = JwtPrincipal.class.getName();
+
+    // ROLE_<role> for each role (including SUPER_ADMIN), then permissions as-is
+    public List<SimpleGrantedAuthority> authorities() {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>(roles.size() + permissions.size());
+        roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+        return authorities;
+    }
+}
@@ -0,0 +1,146 @@
+package com.endesha360.UserManagementService.service;
+
+import com.endesha360.UserManagementService.entity.Activity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes activity log entries off the request path. Entries are queued once the caller's transaction
+ * commits and inserted by a background flush in JDBC batches. The queue is bounded: when it is full,
+ * DROP discards the entry at once and BLOCK waits up to block-timeout-ms before discarding it.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO activities " +
+            "(activity_type, description, tenant_code, user_id, metadata, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    public enum OverflowPolicy { DROP, BLOCK }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.activity.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.activity.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.activity.overflow-policy:DROP}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${app.activity.block-timeout-ms:50}")
+    private long blockTimeoutMs;
+
+    private BlockingQueue<Activity> queue;
+    private Counter writtenCounter;
+    private Counter droppedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("activity.log.queue.size", queue, BlockingQueue::size)
+                .description("Activity log entries waiting to be written")
+                .tag("service", "user-management")
+                .register(meterRegistry);
+        writtenCounter = Counter.builder("activity.log.written")
+                .description("Activity log entries inserted")
+                .tag("service", "user-management")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("activity.log.dropped")
+                .description("Activity log entries discarded because the queue was full")
+                .tag("service", "user-management")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("activity.log.failed")
+                .description("Activity log entries lost to failed batch inserts")
+                .tag("service", "user-management")
+                .register(meterRegistry);
+    }
+
+    /** Queues the entry after the current transaction commits (immediately if there is none). */
+    public void submit(Activity activity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(activity);
+                }
+            });
+        } else {
+            enqueue(activity);
+        }
+    }
+
+    private void enqueue(Activity activity) {
+        boolean queued;
+        try {
+            queued = overflowPolicy == OverflowPolicy.BLOCK
+                    ? queue.offer(activity, blockTimeoutMs, TimeUnit.MILLISECONDS)
+                    : queue.offer(activity);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            droppedCounter.increment();
+            logger.warn("Activity log queue full, dropped {} for tenant: {}", activity.getActivityType(), activity.getTenantCode());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity.flush-ms:500}")
+    public void flush() {
+        List<Activity> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<Activity> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, activity) -> {
+                ps.setString(1, activity.getActivityType());
+                ps.setString(2, activity.getDescription());
+                ps.setString(3, activity.getTenantCode());
+                ps.setString(4, activity.getUserId());
+                ps.setString(5, activity.getMetadata());
+                ps.setTimestamp(6, Timestamp.valueOf(activity.getCreatedAt()));
+            });
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            // Audit trail is best-effort; a bad batch must not block the entries behind it
+            failedCounter.increment(batch.size());
+            logger.error("Failed to write {} activity log entries: {}", batch.size(), e.getMessage(), e);
+        }
+    }
+}
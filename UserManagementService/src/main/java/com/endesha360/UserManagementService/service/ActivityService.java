@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
@@ -24,21 +25,27 @@ public class ActivityService {
     @Autowired
     private ActivityRepository activityRepository;
     
+    @Autowired
+    private ActivityLogWriter activityLogWriter;
+    
     /**
      * Log a new activity
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logActivity(String activityType, String description, String tenantCode, String userId) {
         logActivity(activityType, description, tenantCode, userId, null);
     }
     
     /**
-     * Log a new activity with metadata
+     * Log a new activity with metadata. Written asynchronously by ActivityLogWriter once the
+     * caller's transaction commits.
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logActivity(String activityType, String description, String tenantCode, String userId, String metadata) {
         try {
             Activity activity = new Activity(activityType, description, tenantCode, userId, metadata);
-            activityRepository.save(activity);
-            logger.info("Activity logged: {} for tenant: {} user: {}", activityType, tenantCode, userId);
+            activityLogWriter.submit(activity);
+            logger.debug("Activity queued: {} for tenant: {} user: {}", activityType, tenantCode, userId);
         } catch (Exception e) {
             logger.error("Failed to log activity: {} for tenant: {} user: {}: {}", 
                         activityType, tenantCode, userId, e.getMessage(), e);
@@ -12,11 +12,13 @@ import com.endesha360.UserManagementService.dto.response.LoginResponse;
 import com.endesha360.UserManagementService.exception.AuthenticationException;
 import com.endesha360.UserManagementService.exception.TenantNotFoundException;
 import com.endesha360.UserManagementService.exception.UserNotFoundException;
+import com.endesha360.UserManagementService.security.JwtPrincipal;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
@@ -185,9 +187,7 @@ public class AuthenticationService {
     public boolean validateToken(String token) {
         try {
             org.slf4j.Logger logger = org.slf4j.LoggerFactory.getLogger(AuthenticationService.class);
-            logger.debug("Validating token in AuthenticationService: {}", token);
-            String username = jwtTokenService.getUsernameFromToken(token);
-            boolean jwtValid = jwtTokenService.validateToken(token, username);
+            boolean jwtValid = jwtTokenService.parse(token).expiresAt().isAfter(Instant.now());
             boolean sessionValid = sessionService.isSessionValid(token);
             logger.debug("JWT valid: {}, Session valid: {}", jwtValid, sessionValid);
             return jwtValid && sessionValid;
@@ -199,11 +199,15 @@ public class AuthenticationService {
     }
     
     public LoginResponse.UserInfo getUserInfoFromToken(String token) {
-        String username = jwtTokenService.getUsernameFromToken(token);
-        Long userId = jwtTokenService.getUserIdFromToken(token);
-        String tenantCode = jwtTokenService.getTenantCodeFromToken(token);
-        Set<String> roles = jwtTokenService.getRolesFromToken(token);
-        Set<String> permissions = jwtTokenService.getPermissionsFromToken(token);
+        return getUserInfo(jwtTokenService.parse(token));
+    }
+
+    public LoginResponse.UserInfo getUserInfo(JwtPrincipal principal) {
+        String username = principal.username();
+        Long userId = principal.userId();
+        String tenantCode = principal.tenantCode();
+        Set<String> roles = principal.roles();
+        Set<String> permissions = principal.permissions();
         
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found: " + userId));
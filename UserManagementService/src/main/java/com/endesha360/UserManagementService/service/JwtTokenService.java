@@ -1,15 +1,24 @@
 package com.endesha360.UserManagementService.service;
 
+import com.endesha360.UserManagementService.security.JwtPrincipal;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
@@ -28,9 +37,14 @@ public class JwtTokenService {
     @Value("${app.jwt.expiration:86400}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        logger.debug("Using JWT secret: {}", jwtSecret);
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Built once: key derivation and parser construction are not free, and the secret never changes
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String generateToken(String username, Long userId, String tenantCode, Set<String> roles, Set<String> permissions) {
@@ -52,82 +66,97 @@ public class JwtTokenService {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
+    /**
+     * Verifies the signature and expiry once and returns all claims the service uses.
+     * Throws {@link JwtException} for invalid or expired tokens.
+     */
+    public JwtPrincipal parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("tenantCode", String.class),
+                toSet(claims.get("roles")),
+                toSet(claims.get("permissions")),
+                claims.getExpiration().toInstant());
+    }
+
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public String getUsernameFromToken(String token) {
-        logger.debug("Extracting username from token: {}", token);
-        return getClaimFromToken(token, Claims::getSubject);
+        return parse(token).username();
     }
 
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+        return Date.from(parse(token).expiresAt());
     }
 
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public Long getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("userId", Long.class);
+        return parse(token).userId();
     }
 
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public String getTenantCodeFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("tenantCode", String.class);
+        return parse(token).tenantCode();
     }
 
-    @SuppressWarnings("unchecked")
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public Set<String> getRolesFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof Set) {
-            return (Set<String>) rolesObj;
-        } else if (rolesObj instanceof java.util.List) {
-            return new java.util.HashSet<>((java.util.List<String>) rolesObj);
-        } else {
-            return java.util.Collections.emptySet();
-        }
+        return parse(token).roles();
     }
 
-    @SuppressWarnings("unchecked")
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public Set<String> getPermissionsFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object permsObj = claims.get("permissions");
-        if (permsObj instanceof Set) {
-            return (Set<String>) permsObj;
-        } else if (permsObj instanceof java.util.List) {
-            return new java.util.HashSet<>((java.util.List<String>) permsObj);
-        } else {
-            return java.util.Collections.emptySet();
-        }
+        return parse(token).permissions();
     }
 
+    /** @deprecated verifies the signature again on every call; call {@link #parse} once and read the claims. */
+    @Deprecated
     public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        logger.debug("Claims extracted from token: {}", claims);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims getAllClaimsFromToken(String token) {
-        logger.debug("Parsing all claims from token: {}", token);
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return claimsResolver.apply(parser.parseSignedClaims(token).getPayload());
     }
 
     public Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        boolean expired = expiration.before(new Date());
-        logger.debug("Token expiration: {}, isExpired: {}", expiration, expired);
-        return expired;
+        try {
+            return !parse(token).expiresAt().isAfter(Instant.now());
+        } catch (ExpiredJwtException e) {
+            return true;
+        }
     }
 
     public Boolean validateToken(String token, String username) {
-        final String tokenUsername = getUsernameFromToken(token);
-        boolean valid = (tokenUsername.equals(username) && !isTokenExpired(token));
-        logger.debug("Validating token: {} for username: {}. Token username: {}. Valid: {}", token, username, tokenUsername, valid);
-        return valid;
+        try {
+            JwtPrincipal principal = parse(token);
+            return principal.username().equals(username) && principal.expiresAt().isAfter(Instant.now());
+        } catch (JwtException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> toSet(Object value) {
+        if (value instanceof Set) {
+            return (Set<String>) value;
+        } else if (value instanceof Collection) {
+            return new HashSet<>((Collection<String>) value);
+        } else {
+            return Collections.emptySet();
+        }
     }
 
     public Long getExpirationTime() {
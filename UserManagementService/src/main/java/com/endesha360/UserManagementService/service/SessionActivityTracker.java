@@ -0,0 +1,86 @@
+package com.endesha360.UserManagementService.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces session last-access updates. Requests only record the latest access time in memory;
+ * a periodic flush writes them in one JDBC batch, at most once per session per min-interval-ms.
+ */
+@Component
+public class SessionActivityTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionActivityTracker.class);
+
+    // Guarded so a late or replayed flush never moves last_accessed backwards
+    private static final String UPDATE_SQL = "UPDATE user_sessions SET last_accessed = ? " +
+            "WHERE token_hash = ? AND (last_accessed IS NULL OR last_accessed < ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.sessions.activity.min-interval-ms:60000}")
+    private long minIntervalMs;
+
+    @Value("${app.sessions.activity.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<String, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LocalDateTime> lastWritten = new ConcurrentHashMap<>();
+
+    public void touch(String tokenHash) {
+        pending.put(tokenHash, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${app.sessions.activity.flush-ms:15000}")
+    public void flush() {
+        LocalDateTime writableBefore = LocalDateTime.now().minusNanos(minIntervalMs * 1_000_000);
+        lastWritten.values().removeIf(written -> written.isBefore(writableBefore));
+        write(collect(token -> !lastWritten.containsKey(token)));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        write(collect(token -> true));
+    }
+
+    private List<Map.Entry<String, LocalDateTime>> collect(Predicate<String> due) {
+        List<Map.Entry<String, LocalDateTime>> rows = new ArrayList<>();
+        pending.forEach((token, accessed) -> {
+            // remove(key, value): an access recorded meanwhile stays for the next flush
+            if (due.test(token) && pending.remove(token, accessed)) rows.add(Map.entry(token, accessed));
+        });
+        return rows;
+    }
+
+    private void write(List<Map.Entry<String, LocalDateTime>> rows) {
+        if (rows.isEmpty()) return;
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, rows, batchSize, (ps, row) -> {
+                Timestamp accessed = Timestamp.valueOf(row.getValue());
+                ps.setTimestamp(1, accessed);
+                ps.setString(2, row.getKey());
+                ps.setTimestamp(3, accessed);
+            });
+            rows.forEach(row -> lastWritten.put(row.getKey(), row.getValue()));
+        } catch (Exception e) {
+            logger.warn("Failed to flush {} session access times: {}", rows.size(), e.getMessage());
+            rows.forEach(row -> pending.merge(row.getKey(), row.getValue(),
+                    (newer, older) -> newer.isAfter(older) ? newer : older));
+        }
+    }
+}
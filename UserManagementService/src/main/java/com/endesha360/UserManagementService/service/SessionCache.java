@@ -0,0 +1,169 @@
+package com.endesha360.UserManagementService.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier cache of valid sessions in front of user_sessions: a bounded in-process LRU, then Redis
+ * (shared by all instances), then the database, keyed by token hash (UserSession.hashToken). Only
+ * positive results are cached, until the session expires. Revocations delete the Redis key and are
+ * published so every instance drops its local copy; local entries are also re-checked against Redis
+ * after local-ttl-ms in case a message was missed.
+ */
+@Component
+public class SessionCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionCache.class);
+
+    public static final String REVOCATION_CHANNEL = "ums:sessions:revoked";
+    private static final String KEY_PREFIX = "ums:session:";
+
+    @Autowired(required = false)
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Autowired(required = false)
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${spring.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${app.sessions.cache.local-size:10000}")
+    private int localSize;
+
+    @Value("${app.sessions.cache.local-ttl-ms:30000}")
+    private long localTtlMs;
+
+    @Value("${app.sessions.cache.redis-ttl-ms:900000}")
+    private long redisTtlMs;
+
+    private Map<String, Entry> local;
+
+    @PostConstruct
+    void init() {
+        local = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > localSize;
+            }
+        };
+        if (redis() && listenerContainer != null) {
+            listenerContainer.addMessageListener((message, pattern) -> {
+                Object key = redisTemplate.getValueSerializer().deserialize(message.getBody());
+                if (key != null) evictLocal(key.toString());
+            }, new ChannelTopic(REVOCATION_CHANNEL));
+        }
+    }
+
+    /**
+     * Whether the session with this token hash is valid; {@code loader} queries the database and returns
+     * the session's expiry when it is active.
+     */
+    public boolean isValid(String key, Supplier<Optional<Instant>> loader) {
+        Instant now = Instant.now();
+
+        Entry entry = getLocal(key);
+        if (entry != null && now.isBefore(entry.validUntil())
+                && now.isBefore(entry.cachedAt().plusMillis(localTtlMs))) {
+            return true;
+        }
+
+        Instant validUntil = fromRedis(key);
+        if (validUntil == null) {
+            validUntil = loader.get().orElse(null);
+            if (validUntil == null || !now.isBefore(validUntil)) {
+                evictLocal(key);
+                return false;
+            }
+            toRedis(key, validUntil, now);
+        } else if (!now.isBefore(validUntil)) {
+            evictLocal(key);
+            return false;
+        }
+        putLocal(key, new Entry(validUntil, now));
+        return true;
+    }
+
+    /** Drops the sessions everywhere, now and again once the surrounding transaction commits. */
+    public void revoke(Collection<String> keys) {
+        if (keys.isEmpty()) return;
+        keys.forEach(this::revokeKey);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A request racing the deactivation could have re-cached the still-committed row
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    keys.forEach(SessionCache.this::revokeKey);
+                }
+            });
+        }
+    }
+
+    private void revokeKey(String key) {
+        evictLocal(key);
+        if (!redis()) return;
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, key);
+        } catch (Exception e) {
+            logger.warn("Failed to publish session revocation: {}", e.getMessage());
+        }
+    }
+
+    private Instant fromRedis(String key) {
+        if (!redis()) return null;
+        try {
+            Object value = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+            return value instanceof Number millis ? Instant.ofEpochMilli(millis.longValue()) : null;
+        } catch (Exception e) {
+            // Redis unavailable: fall through to the database
+            logger.debug("Session cache read from Redis failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void toRedis(String key, Instant validUntil, Instant now) {
+        if (!redis()) return;
+        long ttl = Math.min(redisTtlMs, Duration.between(now, validUntil).toMillis());
+        if (ttl <= 0) return;
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, validUntil.toEpochMilli(), Duration.ofMillis(ttl));
+        } catch (Exception e) {
+            logger.debug("Session cache write to Redis failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized Entry getLocal(String key) {
+        return local.get(key);
+    }
+
+    private synchronized void putLocal(String key, Entry entry) {
+        local.put(key, entry);
+    }
+
+    private synchronized void evictLocal(String key) {
+        local.remove(key);
+    }
+
+    private boolean redis() {
+        return redisEnabled && redisTemplate != null;
+    }
+
+    private record Entry(Instant validUntil, Instant cachedAt) {}
+}
@@ -8,9 +8,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,6 +24,12 @@ public class SessionService {
     @Autowired
     private UserSessionRepository sessionRepository;
     
+    @Autowired
+    private SessionCache sessionCache;
+    
+    @Autowired
+    private SessionActivityTracker sessionActivityTracker;
+    
     @Value("${app.jwt.expiration:86400}")
     private int sessionExpirationInSeconds;
     
@@ -44,25 +52,35 @@ public class SessionService {
     }
     
     public Optional<UserSession> getSessionByToken(String token) {
-        return sessionRepository.findBySessionToken(token);
+        return sessionRepository.findByTokenHash(UserSession.hashToken(token));
     }
     
+    // Per-request check: served from SessionCache, so no transaction (or connection) unless it misses
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public boolean isSessionValid(String token) {
-        Optional<UserSession> session = sessionRepository.findValidSessionByToken(token, LocalDateTime.now());
-        return session.isPresent() && session.get().getIsActive();
+        String tokenHash = UserSession.hashToken(token);
+        return sessionCache.isValid(tokenHash, () -> sessionRepository.findValidSessionByTokenHash(tokenHash, LocalDateTime.now())
+                .filter(UserSession::getIsActive)
+                .map(session -> session.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant()));
     }
     
     public void invalidateSession(String token) {
-        Optional<UserSession> session = sessionRepository.findBySessionToken(token);
+        String tokenHash = UserSession.hashToken(token);
+        Optional<UserSession> session = sessionRepository.findByTokenHash(tokenHash);
         if (session.isPresent()) {
             UserSession userSession = session.get();
             userSession.setIsActive(false);
             sessionRepository.save(userSession);
         }
+        sessionCache.revoke(List.of(tokenHash));
     }
     
     public void invalidateAllUserSessions(Long userId) {
+        List<String> tokenHashes = sessionRepository.findByUserIdAndIsActiveTrue(userId).stream()
+                .map(UserSession::getTokenHash)
+                .toList();
         sessionRepository.deactivateAllUserSessions(userId);
+        sessionCache.revoke(tokenHashes);
     }
     
     public List<UserSession> getActiveUserSessions(Long userId) {
@@ -73,8 +91,10 @@ public class SessionService {
         return sessionRepository.findByUserIdAndTenantIdAndIsActiveTrue(userId, tenantId);
     }
     
+    // Recorded in memory and flushed in batches by SessionActivityTracker
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void updateSessionActivity(String token) {
-        sessionRepository.updateLastAccessed(token, LocalDateTime.now());
+        sessionActivityTracker.touch(UserSession.hashToken(token));
     }
     
     @Scheduled(fixedRate = 3600000) // Run every hour
@@ -83,11 +103,14 @@ public class SessionService {
     }
     
     public void extendSession(String token, int additionalSeconds) {
-        Optional<UserSession> session = sessionRepository.findBySessionToken(token);
+        String tokenHash = UserSession.hashToken(token);
+        Optional<UserSession> session = sessionRepository.findByTokenHash(tokenHash);
         if (session.isPresent() && session.get().getIsActive()) {
             UserSession userSession = session.get();
             userSession.setExpiresAt(userSession.getExpiresAt().plusSeconds(additionalSeconds));
             sessionRepository.save(userSession);
+            // Cached entries carry the old expiry; drop them so the next check reloads
+            sessionCache.revoke(List.of(tokenHash));
         }
     }
     
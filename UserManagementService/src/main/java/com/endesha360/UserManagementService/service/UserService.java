@@ -45,6 +45,9 @@ public class UserService {
     @Autowired
     private ActivityService activityService;
     
+    @Autowired
+    private SessionService sessionService;
+    
     public UserResponse createUser(UserRegistrationRequest request) {
         // Check if user already exists
         if (userRepository.existsByUsername(request.getUsername())) {
@@ -170,6 +173,7 @@ public class UserService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        sessionService.invalidateAllUserSessions(userId);
     }
     
     public List<UserResponse> getUsersByTenant(String tenantCode) {
@@ -0,0 +1,67 @@
+package com.endesha360.UserManagementService.service;
+
+import com.endesha360.UserManagementService.security.JwtPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT cost: the claim-by-claim getters (one HMAC check and JSON parse each, as the
+ * filter used to do) against a single {@link JwtTokenService#parse}. Not part of the test suite;
+ * after {@code mvn test-compile} run it with
+ * {@code java -cp target/test-classes:<test classpath> org.openjdk.jmh.Main JwtTokenServiceBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtTokenServiceBenchmark {
+
+    private JwtTokenService jwtTokenService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenService = new JwtTokenService();
+        ReflectionTestUtils.setField(jwtTokenService, "jwtSecret",
+                "benchmarkSecretKeyThatIsLongEnoughForHmacSha512SigningInJwtTokenService");
+        ReflectionTestUtils.setField(jwtTokenService, "jwtExpirationInMs", 86400);
+        jwtTokenService.init();
+        token = jwtTokenService.generateToken("student01", 42L, "SAFEDRIV",
+                Set.of("STUDENT"), Set.of("EXAM_TAKE", "PROGRESS_VIEW"));
+    }
+
+    @Benchmark
+    @SuppressWarnings("deprecation")
+    public void perClaimGetters(Blackhole bh) {
+        String username = jwtTokenService.getUsernameFromToken(token);
+        bh.consume(jwtTokenService.validateToken(token, username));
+        bh.consume(jwtTokenService.getUserIdFromToken(token));
+        bh.consume(jwtTokenService.getTenantCodeFromToken(token));
+        bh.consume(jwtTokenService.getRolesFromToken(token));
+        bh.consume(jwtTokenService.getPermissionsFromToken(token));
+    }
+
+    @Benchmark
+    public void parseOnce(Blackhole bh) {
+        JwtPrincipal principal = jwtTokenService.parse(token);
+        bh.consume(principal.username());
+        bh.consume(principal.userId());
+        bh.consume(principal.tenantCode());
+        bh.consume(principal.authorities());
+    }
+}
@@ -0,0 +1,39 @@
+package com.endesha360.questions_service.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotent schema additions that ddl-auto=update cannot express.
+ * Runs after Hibernate has created or updated the tables.
+ */
+@Component
+public class SchemaMigrations implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Applying questions-service schema migrations...");
+
+        createSearchIndexes();
+
+        logger.info("Schema migrations completed.");
+    }
+
+    // Expression GIN indexes for admin full-text search; must match the expressions in QuestionRepositoryImpl
+    private void createSearchIndexes() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_questions_text_fts " +
+                "ON questions USING gin (to_tsvector('simple', question_text))");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_question_options_text_fts " +
+                "ON question_options USING gin (to_tsvector('simple', option_text))");
+    }
+}
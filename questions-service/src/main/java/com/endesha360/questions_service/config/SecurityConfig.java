@@ -28,6 +28,10 @@ public class SecurityConfig {
             .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/internal/**").authenticated()
+                // Question bank management, including bulk import/export of questions with their answers:
+                // admin tokens from UserManagementService or SystemAdminServices, or another service
+                .requestMatchers("/api/admin/**")
+                    .hasAnyRole("ADMIN", "SUPER_ADMIN", "SYSTEM_ADMIN", "SERVICE")
                 .anyRequest().permitAll()
             );
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
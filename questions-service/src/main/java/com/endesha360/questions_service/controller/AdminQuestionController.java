@@ -3,18 +3,34 @@ package com.endesha360.questions_service.controller;
 import com.endesha360.questions_service.dto.InternalQuestionDto;
 import com.endesha360.questions_service.dto.QuestionCategoryDto;
 import com.endesha360.questions_service.dto.QuestionCreateRequest;
+import com.endesha360.questions_service.dto.QuestionImportResponse;
 import com.endesha360.questions_service.dto.QuestionLevelDTO;
+import com.endesha360.questions_service.dto.QuestionStatisticsDto;
 import com.endesha360.questions_service.service.QuestionService;
 import com.endesha360.questions_service.service.QuestionCategoryService;
+import com.endesha360.questions_service.service.QuestionExportService;
+import com.endesha360.questions_service.service.QuestionImportService;
 import com.endesha360.questions_service.service.QuestionLevelService;
+import com.endesha360.questions_service.service.QuestionStatisticsService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +48,18 @@ public class AdminQuestionController {
     @Autowired 
     private QuestionLevelService questionLevelService;
 
+    @Autowired
+    private QuestionStatisticsService questionStatisticsService;
+
+    @Autowired
+    private QuestionImportService questionImportService;
+
+    @Autowired
+    private QuestionExportService questionExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     public Page<AdminQuestionDto> getAllQuestions(
         @RequestParam(defaultValue = "0") int page,
@@ -41,21 +69,11 @@ public class AdminQuestionController {
         @RequestParam(required = false) String search,
         @RequestParam(required = false) Long categoryId
     ) {
-        // Get internal questions (with correct answers for admin)
-        List<InternalQuestionDto> questions = questionService.poolInternal(categoryId, null, 1000);
-        
-        // Convert to AdminQuestionDto format
-        List<AdminQuestionDto> adminQuestions = questions.stream()
-            .map(this::toAdminQuestionDto)
-            .toList();
-        
-        // Simple pagination implementation
-        Pageable pageable = PageRequest.of(page, size);
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), adminQuestions.size());
-        
-        List<AdminQuestionDto> pageContent = adminQuestions.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, adminQuestions.size());
+        Sort.Direction dir = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+        // Blank sort (e.g. "?sort=") would make Sort.by throw
+        String property = StringUtils.hasText(sort) ? sort.trim() : "id";
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, 100)), Sort.by(dir, property));
+        return questionService.searchInternal(categoryId, search, pageable).map(this::toAdminQuestionDto);
     }
 
     @PostMapping
@@ -87,6 +105,60 @@ public class AdminQuestionController {
         return created.stream().map(this::toAdminQuestionDto).toList();
     }
 
+    // Same pipeline as /bulk, but reports the outcome of every row
+    @PostMapping("/import")
+    public QuestionImportResponse importQuestions(@RequestBody List<QuestionCreateRequest> questions) {
+        return questionImportService.importAll(questions);
+    }
+
+    // Streaming import of a csv/jsonl file: one NDJSON progress line per committed chunk, then the report
+    @PostMapping(value = "/import/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public void importQuestionFile(@RequestPart("file") MultipartFile file,
+                                   @RequestParam(required = false) String format,
+                                   HttpServletResponse response) throws IOException {
+        String fileFormat = format != null ? format : StringUtils.getFilenameExtension(file.getOriginalFilename());
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8))) {
+            response.setContentType("application/x-ndjson");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            PrintWriter out = response.getWriter();
+            QuestionImportResponse result = questionImportService.importStream(in, fileFormat,
+                    progress -> writeLine(out, progress));
+            writeLine(out, result);
+        } catch (IllegalArgumentException e) {
+            // Unsupported format or bad CSV header: rejected before the first progress line is written
+            if (response.isCommitted()) throw e;
+            response.reset();
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // Whole bank (or one category) as NDJSON or CSV, streamed from a database cursor
+    @GetMapping("/export")
+    public void exportQuestions(@RequestParam(defaultValue = "ndjson") String format,
+                                @RequestParam(required = false) Long categoryId,
+                                HttpServletResponse response) throws IOException {
+        if (!QuestionExportService.isSupported(format)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported export format: " + format);
+            return;
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Content-Disposition",
+                "attachment; filename=\"questions." + (csv ? "csv" : "ndjson") + "\"");
+        questionExportService.export(categoryId, format, response.getWriter());
+    }
+
+    private void writeLine(PrintWriter out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsString(value));
+            out.write('\n');
+            out.flush();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @GetMapping("/categories")
     public List<QuestionCategoryDto> getCategories() {
         return questionCategoryService.list();
@@ -100,16 +172,17 @@ public class AdminQuestionController {
 
     @GetMapping("/statistics")
     public AdminQuestionStatisticsDto getQuestionStatistics() {
-        // Simple statistics implementation
-        List<InternalQuestionDto> allQuestions = questionService.poolInternal(null, null, 10000);
-        List<QuestionCategoryDto> categories = questionCategoryService.list();
-        
+        QuestionStatisticsDto computed = questionStatisticsService.getStatistics();
+
         AdminQuestionStatisticsDto stats = new AdminQuestionStatisticsDto();
-        stats.setTotalQuestions(allQuestions.size());
-        stats.setTotalCategories(categories.size());
-        stats.setQuestionsThisMonth(allQuestions.size()); // Simplified
-        stats.setAverageQuestionsPerCategory(categories.isEmpty() ? 0 : (double) allQuestions.size() / categories.size());
-        
+        stats.setTotalQuestions(computed.getTotalQuestions());
+        stats.setTotalCategories(computed.getTotalCategories());
+        stats.setQuestionsThisMonth(computed.getQuestionsThisMonth());
+        stats.setAverageQuestionsPerCategory(computed.getAverageQuestionsPerCategory());
+        stats.setTotalLevels(computed.getTotalLevels());
+        stats.setByCategory(computed.getByCategory());
+        stats.setByLevel(computed.getByLevel());
+        stats.setByMonth(computed.getByMonth());
         return stats;
     }
 
@@ -177,6 +250,10 @@ public class AdminQuestionController {
         private long totalCategories;
         private long questionsThisMonth;
         private double averageQuestionsPerCategory;
+        private long totalLevels;
+        private List<QuestionStatisticsDto.Bucket> byCategory;
+        private List<QuestionStatisticsDto.Bucket> byLevel;
+        private List<QuestionStatisticsDto.Bucket> byMonth;
 
         // Getters and setters
         public long getTotalQuestions() { return totalQuestions; }
@@ -187,5 +264,13 @@ public class AdminQuestionController {
         public void setQuestionsThisMonth(long questionsThisMonth) { this.questionsThisMonth = questionsThisMonth; }
         public double getAverageQuestionsPerCategory() { return averageQuestionsPerCategory; }
         public void setAverageQuestionsPerCategory(double averageQuestionsPerCategory) { this.averageQuestionsPerCategory = averageQuestionsPerCategory; }
+        public long getTotalLevels() { return totalLevels; }
+        public void setTotalLevels(long totalLevels) { this.totalLevels = totalLevels; }
+        public List<QuestionStatisticsDto.Bucket> getByCategory() { return byCategory; }
+        public void setByCategory(List<QuestionStatisticsDto.Bucket> byCategory) { this.byCategory = byCategory; }
+        public List<QuestionStatisticsDto.Bucket> getByLevel() { return byLevel; }
+        public void setByLevel(List<QuestionStatisticsDto.Bucket> byLevel) { this.byLevel = byLevel; }
+        public List<QuestionStatisticsDto.Bucket> getByMonth() { return byMonth; }
+        public void setByMonth(List<QuestionStatisticsDto.Bucket> byMonth) { this.byMonth = byMonth; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,74 @@
+package com.endesha360.questions_service.controller;
+
+import com.endesha360.questions_service.service.ImageStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Serves stored question images. Names are content hashes (or one-off UUIDs), so responses are
+ * cacheable forever. Large files are handed to Tomcat's sendfile, which streams them with
+ * FileChannel.transferTo straight from the page cache.
+ */
+@RestController @RequestMapping("/static/images")
+public class ImageController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    @Autowired private ImageStorageService imageStorageService;
+
+    @Value("${app.images.sendfile-threshold:49152}")
+    private long sendfileThreshold;
+
+    @GetMapping("/{filename:.+}")
+    public void serve(@PathVariable String filename, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        Optional<Path> file = imageStorageService.resolve(filename);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path path = file.get();
+        String etag = "\"" + filename + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+        response.setHeader(HttpHeaders.ETAG, etag);
+        if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long size = Files.size(path);
+        response.setContentType(MediaTypeFactory.getMediaType(filename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString());
+        response.setContentLengthLong(size);
+        if ("HEAD".equals(request.getMethod())) return;
+
+        if (size >= sendfileThreshold && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            // Tomcat writes the file after this handler returns, without copying it through the JVM heap
+            request.setAttribute("org.apache.tomcat.sendfile.filename", path.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", 0L);
+            request.setAttribute("org.apache.tomcat.sendfile.end", size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            for (long position = 0; position < size; ) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
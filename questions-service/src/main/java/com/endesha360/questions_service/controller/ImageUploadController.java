@@ -1,33 +1,28 @@
 package com.endesha360.questions_service.controller;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.endesha360.questions_service.service.ImageStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.*;
-import java.nio.file.*;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController @RequestMapping("/api/uploads")
 public class ImageUploadController {
 
-    @Value("${uploads.dir:uploads}")
-    private String uploadsDir; // default ./uploads
+    @Autowired private ImageStorageService imageStorageService;
 
+    // url = original; hash = content id; w<width> = resized variants (only those narrower than the original)
     @PostMapping(value = "/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public Map<String, String> upload(@RequestPart("file") MultipartFile file) throws IOException {
-        String ext = StringUtils.getFilenameExtension(file.getOriginalFilename());
-        String filename = UUID.randomUUID() + (ext != null ? "." + ext : "");
-        Path dir = Paths.get(uploadsDir, "images");
-        Files.createDirectories(dir);
-        Path dest = dir.resolve(filename);
-        Files.copy(file.getInputStream(), dest, StandardCopyOption.REPLACE_EXISTING);
-
-        // Expose via static handler or reverse proxy; for simplicity:
-        String url = "/static/images/" + filename; // map below
-        return Map.of("url", url);
+        ImageStorageService.StoredImage image = imageStorageService.store(file);
+        Map<String, String> result = new LinkedHashMap<>();
+        result.put("url", image.url());
+        result.put("hash", image.hash());
+        image.variants().forEach((width, url) -> result.put("w" + width, url));
+        return result;
     }
 }
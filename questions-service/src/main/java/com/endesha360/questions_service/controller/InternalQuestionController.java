@@ -2,7 +2,9 @@
 package com.endesha360.questions_service.controller;
 
 import com.endesha360.questions_service.dto.InternalQuestionDto;
+import com.endesha360.questions_service.dto.ItemResponseStatsDto;
 import com.endesha360.questions_service.service.QuestionService;
+import com.endesha360.questions_service.service.QuestionStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,6 +14,7 @@ import java.util.List;
 public class InternalQuestionController {
 
     @Autowired private QuestionService questionService;
+    @Autowired private QuestionStatsService questionStatsService;
 
     @GetMapping("/pool")
     public List<InternalQuestionDto> pool(@RequestParam(required = false) Long categoryId,
@@ -19,4 +22,27 @@ public class InternalQuestionController {
                                           @RequestParam(defaultValue = "200") int limit) {
         return questionService.poolInternal(categoryId, levelId, limit);
     }
+
+    @GetMapping("/sample")
+    public List<InternalQuestionDto> sample(@RequestParam(required = false) Long categoryId,
+                                            @RequestParam(required = false) Long levelId,
+                                            @RequestParam(defaultValue = "40") int count) {
+        return questionService.sampleInternal(categoryId, levelId, count);
+    }
+
+    @GetMapping("/select")
+    public List<InternalQuestionDto> select(@RequestParam(required = false) List<Long> categoryIds,
+                                            @RequestParam(required = false) Long levelId,
+                                            @RequestParam(defaultValue = "40") int count,
+                                            @RequestParam(defaultValue = "0.3") double easy,
+                                            @RequestParam(defaultValue = "0.4") double medium,
+                                            @RequestParam(defaultValue = "0.3") double hard) {
+        return questionService.selectInternal(categoryIds, levelId, count, new double[]{easy, medium, hard});
+    }
+
+    // Per-question response deltas from finalized attempts; a repeated batchId is ignored
+    @PostMapping("/stats")
+    public void stats(@RequestParam String batchId, @RequestBody List<ItemResponseStatsDto> deltas) {
+        questionStatsService.record(batchId, deltas);
+    }
 }
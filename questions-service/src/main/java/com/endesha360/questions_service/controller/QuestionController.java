@@ -3,25 +3,47 @@ package com.endesha360.questions_service.controller;
 
 import com.endesha360.questions_service.dto.QuestionCreateRequest;
 import com.endesha360.questions_service.dto.PublicQuestionDto;
+import com.endesha360.questions_service.service.QuestionContentVersions;
 import com.endesha360.questions_service.service.QuestionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController @RequestMapping("/api/questions")
 public class QuestionController {
 
     @Autowired private QuestionService questionService;
+    @Autowired private QuestionContentVersions questionContentVersions;
 
     @PostMapping
     public PublicQuestionDto create(@Valid @RequestBody QuestionCreateRequest req) {
         return questionService.create(req);
     }
 
+    // Conditional GET: a matching If-None-Match / If-Modified-Since gets 304 without loading questions
     @GetMapping
-    public List<PublicQuestionDto> list(@RequestParam(required = false) Long categoryId) {
-        return questionService.listPublic(categoryId);
+    public ResponseEntity<List<PublicQuestionDto>> list(@RequestParam(required = false) Long categoryId,
+                                                        WebRequest request) {
+        Optional<QuestionContentVersions.Version> version =
+                categoryId == null ? Optional.empty() : questionContentVersions.current(categoryId);
+        if (version.isEmpty()) {
+            return ResponseEntity.ok(questionService.listPublic(categoryId));
+        }
+        String etag = "\"c" + categoryId + "-v" + version.get().version() + "\"";
+        long lastModified = version.get().updatedAt().toEpochMilli();
+        if (request.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(CacheControl.noCache())
+                .body(questionService.listPublic(categoryId));
     }
 }
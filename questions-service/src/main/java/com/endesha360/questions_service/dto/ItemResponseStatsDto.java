@@ -0,0 +1,14 @@
+package com.endesha360.questions_service.dto;
+
+import lombok.Data;
+
+// Per-question deltas from a batch of finalized attempts (sent by test-service)
+@Data
+public class ItemResponseStatsDto {
+    private Long questionId;
+    private long responses;
+    private long correct;
+    private double scoreSum;
+    private double scoreSqSum;
+    private double correctScoreSum;
+}
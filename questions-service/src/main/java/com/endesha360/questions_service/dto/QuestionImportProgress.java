@@ -0,0 +1,13 @@
+package com.endesha360.questions_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Emitted after each committed chunk of a streaming import
+@Data
+@AllArgsConstructor
+public class QuestionImportProgress {
+    private int rowsRead;
+    private int imported;
+    private int failed;
+}
@@ -0,0 +1,24 @@
+package com.endesha360.questions_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class QuestionImportResponse {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private List<RowResult> rows;   // every row in input order; for file imports only the first failed rows
+
+    @Data
+    @AllArgsConstructor
+    public static class RowResult {
+        private int row;            // 1-based position in the input
+        private Long questionId;    // null when the row failed
+        private String error;       // null when the row was imported
+    }
+}
@@ -0,0 +1,30 @@
+package com.endesha360.questions_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@Builder
+public class QuestionStatisticsDto {
+    private long totalQuestions;
+    private long totalCategories;
+    private long totalLevels;
+    private long questionsThisMonth;
+    private double averageQuestionsPerCategory;
+    private List<Bucket> byCategory;
+    private List<Bucket> byLevel;
+    private List<Bucket> byMonth;     // label = "yyyy-MM", oldest first
+    private Instant computedAt;
+
+    @Data
+    @AllArgsConstructor
+    public static class Bucket {
+        private Long id;              // category/level id; null for months
+        private String label;
+        private long count;
+    }
+}
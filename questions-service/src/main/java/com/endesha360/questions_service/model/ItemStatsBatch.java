@@ -0,0 +1,22 @@
+package com.endesha360.questions_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Item statistics batches already applied to question_stats, keyed by the sender's batch id,
+ * so a batch re-sent after a lost response is not counted twice.
+ */
+@Entity
+@Table(name = "item_stats_batch")
+@Data @NoArgsConstructor
+public class ItemStatsBatch {
+    @Id
+    @Column(length = 36)
+    private String batchId;
+
+    private Instant recordedAt;
+}
@@ -4,15 +4,37 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Instant;
 import java.util.List;
 
-@Entity @Table(name="questions")
+@Entity
+@Table(name="questions", indexes = {
+        // Pool id scans, one index per filter shape: (category, level), category, level
+        @Index(name = "idx_questions_category_level_id", columnList = "category_id, level_id, id"),
+        @Index(name = "idx_questions_level_id", columnList = "level_id, id"),
+        // Admin listing filtered by category, paged in id order
+        @Index(name = "idx_questions_category_id", columnList = "category_id, id"),
+        // Monthly statistics
+        @Index(name = "idx_questions_created_at", columnList = "created_at")
+})
+// Everything the DTO mappers touch, loaded in one query
+@NamedEntityGraph(name = Question.DETAILS, attributeNodes = {
+        @NamedAttributeNode("questionCategory"),
+        @NamedAttributeNode("questionLevel"),
+        @NamedAttributeNode("options")
+})
 @Data @NoArgsConstructor
 public class Question {
+    public static final String DETAILS = "Question.details";
+
     @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne @JoinColumn(name = "category_id", nullable = false)
+    // Lazy: read paths use the DETAILS graph or a fetch join instead of a select per category
+    @ManyToOne(fetch = FetchType.LAZY) @JoinColumn(name = "category_id", nullable = false)
     private QuestionCategory questionCategory;
 
     @NotBlank
@@ -22,15 +44,23 @@ public class Question {
     // Optional image (traffic sign, diagram, etc.)
     private String imageUrl;
 
+    // Batch-loads options for up to 100 questions per query when not fetched with the graph
     @ElementCollection
-    @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
+    @BatchSize(size = 100)
+    @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"),
+            indexes = @Index(name = "idx_question_options_question_id", columnList = "question_id"))
     @Column(name = "option_text", nullable = false)
     private List<String> options;
 
     @NotBlank
     private String correctAnswer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "level_id", nullable = false)
     private QuestionLevel questionLevel;
+
+    // Null for questions created before this column existed
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Instant createdAt;
 }
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @Data
 @NoArgsConstructor
 @Entity
@@ -17,4 +19,9 @@ public class QuestionCategory {
     @NotBlank
     @Column(unique = true, length = 100)
     private String name;
+
+    // Bumped on every question create/update/delete in this category (ETag of public listings)
+    private Long contentVersion;
+
+    private Instant contentUpdatedAt;
 }
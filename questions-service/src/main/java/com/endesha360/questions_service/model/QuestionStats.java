@@ -0,0 +1,45 @@
+package com.endesha360.questions_service.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Running item statistics from finalized exam attempts, kept as sums so updates are plain
+ * increments. Score is the attempt's fraction correct (0..1).
+ */
+@Entity
+@Table(name = "question_stats")
+@Data @NoArgsConstructor
+public class QuestionStats {
+    @Id
+    private Long questionId;
+
+    private long responses;         // exposures in finalized attempts
+    private long correct;
+    private double scoreSum;
+    private double scoreSqSum;
+    private double correctScoreSum; // sum of attempt scores where this item was answered correctly
+
+    private Instant updatedAt;
+
+    // Laplace-smoothed proportion correct (classical item difficulty p)
+    public static double correctRate(long responses, long correct) {
+        return (correct + 1.0) / (responses + 2.0);
+    }
+
+    // Point-biserial correlation between answering this item correctly and the attempt score
+    public static double discrimination(long responses, long correct, double scoreSum, double scoreSqSum,
+                                        double correctScoreSum) {
+        if (responses < 2 || correct == 0 || correct == responses) return 0;
+        double n = responses;
+        double p = correct / n;
+        double meanScore = scoreSum / n;
+        double varScore = scoreSqSum / n - meanScore * meanScore;
+        if (varScore <= 0) return 0;
+        double cov = correctScoreSum / n - p * meanScore;
+        return cov / Math.sqrt(p * (1 - p) * varScore);
+    }
+}
@@ -0,0 +1,8 @@
+package com.endesha360.questions_service.repository;
+
+// Row of a GROUP BY count: group id, display label, number of questions
+public interface CountView {
+    Long getId();
+    String getLabel();
+    long getCount();
+}
@@ -2,8 +2,28 @@ package com.endesha360.questions_service.repository;
 
 import com.endesha360.questions_service.model.QuestionCategory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 
 public interface QuestionCategoryRepository extends JpaRepository<QuestionCategory, Long> {
     Optional<QuestionCategory> findByNameIgnoreCase(String name);
+
+    interface ContentVersionView {
+        Long getContentVersion();
+        Instant getContentUpdatedAt();
+    }
+
+    @Query("SELECT c.contentVersion AS contentVersion, c.contentUpdatedAt AS contentUpdatedAt " +
+           "FROM QuestionCategory c WHERE c.id = :id")
+    Optional<ContentVersionView> findContentVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE QuestionCategory c SET c.contentVersion = COALESCE(c.contentVersion, 0) + 1, " +
+           "c.contentUpdatedAt = :now WHERE c.id IN :ids")
+    int bumpContentVersion(@Param("ids") Collection<Long> ids, @Param("now") Instant now);
 }
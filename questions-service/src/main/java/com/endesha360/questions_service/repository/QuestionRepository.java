@@ -1,16 +1,52 @@
 package com.endesha360.questions_service.repository;
 
 import com.endesha360.questions_service.model.Question;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface QuestionRepository extends JpaRepository<Question, Long> {
+public interface QuestionRepository extends JpaRepository<Question, Long>, QuestionRepositoryCustom {
 
     // Automatically generates: SELECT q FROM Question q WHERE q.questionCategory.id = :categoryId
+    @EntityGraph(Question.DETAILS)
     List<Question> findAllByQuestionCategoryId(Long categoryId);
 
     // New: filter by both category and level
+    @EntityGraph(Question.DETAILS)
     List<Question> findAllByQuestionCategoryIdAndQuestionLevelId(Long categoryId, Long levelId);
 
+    @EntityGraph(Question.DETAILS)
+    Optional<Question> findWithDetailsById(Long id);
+
+    // Batch fetch of sampled ids with category, level and options in one round trip
+    @Query("SELECT DISTINCT q FROM Question q JOIN FETCH q.questionCategory LEFT JOIN FETCH q.questionLevel " +
+           "LEFT JOIN FETCH q.options WHERE q.id IN :ids")
+    List<Question> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT q.questionCategory.id FROM Question q WHERE q.id = :id")
+    Optional<Long> findCategoryIdById(@Param("id") Long id);
+
+    // Statistics: aggregates only, never loads questions
+
+    long countByCreatedAtGreaterThanEqual(Instant since);
+
+    @Query("SELECT c.id AS id, c.name AS label, count(q.id) AS count FROM QuestionCategory c " +
+           "LEFT JOIN Question q ON q.questionCategory = c GROUP BY c.id, c.name ORDER BY c.name")
+    List<CountView> countByCategory();
+
+    @Query("SELECT l.id AS id, l.name AS label, count(q.id) AS count FROM QuestionLevel l " +
+           "LEFT JOIN Question q ON q.questionLevel = l GROUP BY l.id, l.name ORDER BY l.name")
+    List<CountView> countByLevel();
+
+    // ["yyyy-MM" (UTC), count] for questions created since the given instant (idx_questions_created_at)
+    @Query(value = "SELECT to_char(q.created_at AT TIME ZONE 'UTC', 'YYYY-MM') AS month, count(*) AS count " +
+                   "FROM questions q WHERE q.created_at >= :since GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<Object[]> countByMonthSince(@Param("since") Instant since);
+
 }
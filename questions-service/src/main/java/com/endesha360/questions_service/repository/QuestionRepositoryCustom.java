@@ -0,0 +1,14 @@
+package com.endesha360.questions_service.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+
+public interface QuestionRepositoryCustom {
+
+    // All question ids matching the filter (null = any); sampled in memory by QuestionIdSampler
+    long[] poolIds(Long categoryId, Long levelId);
+
+    // One sorted page of question ids; search matches word prefixes in the question text or any option
+    Page<Long> searchIds(Long categoryId, String search, Pageable pageable);
+}
@@ -0,0 +1,117 @@
+package com.endesha360.questions_service.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class QuestionRepositoryImpl implements QuestionRepositoryCustom {
+
+    // Sortable properties (admin API names) to columns; anything else sorts by id
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "q.id",
+            "questionText", "q.question_text",
+            "categoryId", "q.category_id",
+            "levelId", "q.level_id",
+            "createdAt", "q.created_at",
+            "categoryName", "c.name",
+            "levelName", "l.name");
+
+    // Both branches hit the GIN expression indexes created by SchemaMigrations
+    private static final String MATCHING_IDS =
+            "SELECT t.id FROM questions t WHERE to_tsvector('simple', t.question_text) @@ to_tsquery('simple', :search) " +
+            "UNION SELECT o.question_id FROM question_options o " +
+            "WHERE to_tsvector('simple', o.option_text) @@ to_tsquery('simple', :search)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Every id matching the filter, in id order. Each filter shape has an index leading with its
+     * columns (category+level, category, level, or the primary key), so this is an index-only scan.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public long[] poolIds(Long categoryId, Long levelId) {
+        List<Number> rows = bind(entityManager.createNativeQuery(
+                "SELECT q.id FROM questions q WHERE " + filter(categoryId, levelId) + " ORDER BY q.id"),
+                categoryId, levelId)
+                .getResultList();
+        long[] ids = new long[rows.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = rows.get(i).longValue();
+        return ids;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<Long> searchIds(Long categoryId, String search, Pageable pageable) {
+        String tsQuery = prefixQuery(search);
+        StringBuilder where = new StringBuilder(" WHERE 1 = 1");
+        if (categoryId != null) where.append(" AND q.category_id = :categoryId");
+        if (tsQuery != null) where.append(" AND q.id IN (").append(MATCHING_IDS).append(")");
+
+        // Stable order: requested columns, then id in the same direction as the first one
+        List<String> orderBy = new ArrayList<>();
+        Sort.Direction tieBreak = Sort.Direction.ASC;
+        for (Sort.Order order : pageable.getSort()) {
+            String column = SORT_COLUMNS.getOrDefault(order.getProperty(), "q.id");
+            if (orderBy.isEmpty()) tieBreak = order.getDirection();
+            if (!column.equals("q.id")) orderBy.add(column + " " + order.getDirection().name());
+        }
+        orderBy.add("q.id " + tieBreak.name());
+        String order = String.join(", ", orderBy);
+
+        String from = " FROM questions q";
+        if (order.contains("c.name")) from += " JOIN question_categories c ON c.id = q.category_id";
+        if (order.contains("l.name")) from += " JOIN question_levels l ON l.id = q.level_id";
+
+        Query pageQuery = entityManager.createNativeQuery("SELECT q.id" + from + where + " ORDER BY " + order)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize());
+        List<Number> rows = bindSearch(pageQuery, categoryId, tsQuery).getResultList();
+        List<Long> ids = rows.stream().map(Number::longValue).toList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> ((Number) bindSearch(
+                entityManager.createNativeQuery("SELECT count(*) FROM questions q" + where), categoryId, tsQuery)
+                .getSingleResult()).longValue());
+    }
+
+    // "stop sig" -> "stop:* & sig:*"; only letters and digits reach to_tsquery
+    private static String prefixQuery(String search) {
+        if (search == null) return null;
+        String query = Arrays.stream(search.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return query.isEmpty() ? null : query;
+    }
+
+    private static Query bindSearch(Query query, Long categoryId, String tsQuery) {
+        if (categoryId != null) query.setParameter("categoryId", categoryId);
+        if (tsQuery != null) query.setParameter("search", tsQuery);
+        return query;
+    }
+
+    private static String filter(Long categoryId, Long levelId) {
+        StringBuilder sb = new StringBuilder("1 = 1");
+        if (categoryId != null) sb.append(" AND q.category_id = :categoryId");
+        if (levelId != null) sb.append(" AND q.level_id = :levelId");
+        return sb.toString();
+    }
+
+    private static Query bind(Query query, Long categoryId, Long levelId) {
+        if (categoryId != null) query.setParameter("categoryId", categoryId);
+        if (levelId != null) query.setParameter("levelId", levelId);
+        return query;
+    }
+}
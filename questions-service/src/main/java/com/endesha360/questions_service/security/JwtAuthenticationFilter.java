@@ -1,13 +1,11 @@
 package com.endesha360.questions_service.security;
 
-import com.endesha360.questions_service.service.JwtTokenService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,38 +13,25 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
-    private JwtTokenService jwtTokenService;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
-    String token = getTokenFromRequest(request);
-    System.out.println("Received JWT in questions-service: " + token);
+        String token = getTokenFromRequest(request);
         if (StringUtils.hasText(token)) {
             try {
-                if (jwtTokenService.validateToken(token, jwtTokenService.getUsernameFromToken(token))) {
-                    String username = jwtTokenService.getUsernameFromToken(token);
-                    Set<String> roles = jwtTokenService.getRolesFromToken(token);
-                    Set<String> permissions = jwtTokenService.getPermissionsFromToken(token);
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                            .collect(Collectors.toList());
-                    authorities.addAll(permissions.stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList()));
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                }
+                // Parsed and verified once per token; repeats are a hash lookup
+                VerifiedToken verified = verifiedTokenCache.verify(token);
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(verified.username(), null, verified.authorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
             } catch (Exception e) {
-                // Optionally log error
+                logger.debug("Rejected JWT: " + e.getMessage());
             }
         }
         filterChain.doFilter(request, response);
@@ -0,0 +1,24 @@
+package com.endesha360.questions_service.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Claims of a token whose signature and expiry have been checked, parsed once.
+ * Authorities are built up front so a cache hit can authenticate without further work.
+ */
+public record VerifiedToken(String username,
+                            Long userId,
+                            String tenantCode,
+                            Set<String> roles,
+                            Set<String> permissions,
+                            Instant expiresAt,
+                            List<GrantedAuthority> authorities) {
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
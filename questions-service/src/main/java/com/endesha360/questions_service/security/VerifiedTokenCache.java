@@ -0,0 +1,75 @@
+package com.endesha360.questions_service.security;
+
+import com.endesha360.questions_service.service.JwtTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounded cache of verified tokens keyed by the token's SHA-256, so a repeat request costs one hash
+ * and one lock-free map lookup instead of a parse and HMAC check. Entries are dropped once the token
+ * expires; tokens that fail verification are never cached. When the cache overflows, expired entries
+ * go first, then arbitrary ones until it is back under 90% of cache-size (a re-verify is the only cost).
+ */
+@Component
+public class VerifiedTokenCache {
+
+    @Autowired private JwtTokenService jwtTokenService;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, VerifiedToken> cache = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    public VerifiedTokenCache(@Value("${app.jwt.cache-size:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /** Verified claims of the token; throws the parser's JwtException if it is invalid or expired. */
+    public VerifiedToken verify(String token) {
+        String key = hash(token);
+        Instant now = Instant.now();
+        VerifiedToken cached = cache.get(key);
+        if (cached != null) {
+            if (!cached.isExpired(now)) return cached;
+            cache.remove(key, cached);
+        }
+        // A concurrent miss on the same token just verifies twice
+        VerifiedToken verified = jwtTokenService.verify(token);
+        cache.put(key, verified);
+        if (cache.size() > maxEntries) evict(now);
+        return verified;
+    }
+
+    // One thread at a time; the others carry on and may briefly see the cache over its size
+    private void evict(Instant now) {
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            cache.values().removeIf(t -> t.isExpired(now));
+            int target = maxEntries - maxEntries / 10;
+            Iterator<String> keys = cache.keySet().iterator();
+            while (cache.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.model.QuestionStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Builds balanced exams from calibrated item statistics. Questions are indexed per (category, level)
+ * and per (category, any level) into difficulty bands, each an alias table weighted by
+ * discrimination and inverse exposure; over-exposed items are left out of every table. Tables are
+ * built at startup and rebuilt in the background, never on a request, so drawing an exam costs
+ * O(count) whatever the bank size. Until the first build completes, selection returns nothing and
+ * callers fall back to plain sampling.
+ */
+@Service
+public class AdaptiveSelectionService {
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveSelectionService.class);
+
+    private static final String ITEMS_SQL = "SELECT q.id, q.category_id, q.level_id, s.responses, s.correct, " +
+            "s.score_sum, s.score_sq_sum, s.correct_score_sum " +
+            "FROM questions q LEFT JOIN question_stats s ON s.question_id = q.id";
+
+    enum Band { EASY, MEDIUM, HARD }
+
+    // levelId null = all levels of the category
+    private record PoolKey(long categoryId, Long levelId) {}
+
+    /** One question with its raw statistics, as read by ITEMS_SQL. */
+    record ItemRow(long id, long categoryId, long levelId, long responses, long correct,
+                   double scoreSum, double scoreSqSum, double correctScoreSum) {}
+
+    private record Item(long id, long responses, double correctRate, double discrimination) {}
+
+    // One table per band, plus one over every eligible item of the pool to top up a short band;
+    // a null table has no eligible items
+    private record Pool(AliasTable[] bands, AliasTable all) {
+        int eligible() {
+            return all != null ? all.size() : 0;
+        }
+    }
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    // Fewer responses than this: uncalibrated, treated as medium with neutral weight
+    @Value("${app.questions.selection.min-responses:20}")
+    private int minResponses;
+
+    @Value("${app.questions.selection.easy-threshold:0.75}")
+    private double easyThreshold;
+
+    @Value("${app.questions.selection.hard-threshold:0.45}")
+    private double hardThreshold;
+
+    // Items exposed more than this multiple of their pool's mean are not drawn
+    @Value("${app.questions.selection.exposure-cap:3.0}")
+    private double exposureCap;
+
+    private volatile Map<PoolKey, Pool> index;
+
+    /**
+     * Distinct question ids for an exam: categories (null/empty = all) each get at least one question
+     * when count allows, the rest in proportion to their size; within a category the count is split
+     * across bands by {@code mix} (easy, medium, hard).
+     */
+    public List<Long> select(Collection<Long> categoryIds, Long levelId, int count, double[] mix) {
+        Map<PoolKey, Pool> current = index;
+        if (current == null) return List.of();
+        List<PoolKey> keys = categoryIds == null || categoryIds.isEmpty()
+                ? current.keySet().stream().filter(k -> Objects.equals(k.levelId(), levelId)).toList()
+                : categoryIds.stream().map(c -> new PoolKey(c, levelId)).filter(current::containsKey).toList();
+        if (keys.isEmpty() || count <= 0) return List.of();
+
+        // Quotas never exceed the eligible items, so exposure caps hold even when that leaves the exam short
+        int[] sizes = keys.stream().mapToInt(k -> current.get(k).eligible()).toArray();
+        int[] quotas = coverage(count, sizes);
+        Random random = ThreadLocalRandom.current();
+        Set<Long> picked = new LinkedHashSet<>();
+        for (int c = 0; c < keys.size(); c++) {
+            Pool pool = current.get(keys.get(c));
+            int target = picked.size() + quotas[c];
+            int[] bandQuotas = apportion(quotas[c], mix);
+            for (Band band : Band.values()) {
+                AliasTable table = pool.bands()[band.ordinal()];
+                if (table != null) draw(table, bandQuotas[band.ordinal()], picked, random);
+            }
+            if (pool.all() == null) continue;
+            // Short bands (or collisions) are topped up from the category's eligible items
+            draw(pool.all(), target - picked.size(), picked, random);
+            topUp(pool.all(), target, picked, random);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    // First run at startup on the scheduler thread, then every rebuild-ms
+    @Scheduled(fixedDelayString = "${app.questions.selection.rebuild-ms:300000}")
+    public void rebuild() {
+        try {
+            long started = System.currentTimeMillis();
+            List<ItemRow> rows = jdbcTemplate.query(ITEMS_SQL, (rs, n) -> new ItemRow(rs.getLong("id"),
+                    rs.getLong("category_id"), rs.getLong("level_id"), rs.getLong("responses"), rs.getLong("correct"),
+                    rs.getDouble("score_sum"), rs.getDouble("score_sq_sum"), rs.getDouble("correct_score_sum")));
+            int pools = index(rows);
+            logger.info("Selection index rebuilt: {} pools in {} ms", pools, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            // Keep serving from the previous index
+            logger.warn("Failed to rebuild selection index: {}", e.getMessage());
+        }
+    }
+
+    /** Builds the tables for these questions and swaps them in; returns the number of pools. */
+    int index(List<ItemRow> rows) {
+        Map<PoolKey, List<Item>> items = new HashMap<>();
+        for (ItemRow row : rows) {
+            Item item = new Item(row.id(), row.responses(),
+                    QuestionStats.correctRate(row.responses(), row.correct()),
+                    QuestionStats.discrimination(row.responses(), row.correct(), row.scoreSum(),
+                            row.scoreSqSum(), row.correctScoreSum()));
+            items.computeIfAbsent(new PoolKey(row.categoryId(), row.levelId()), k -> new ArrayList<>()).add(item);
+            items.computeIfAbsent(new PoolKey(row.categoryId(), null), k -> new ArrayList<>()).add(item);
+        }
+        Map<PoolKey, Pool> built = new HashMap<>();
+        items.forEach((key, list) -> built.put(key, build(list)));
+        index = built;
+        return built.size();
+    }
+
+    private Pool build(List<Item> items) {
+        double meanExposure = items.stream().mapToLong(Item::responses).average().orElse(0);
+        // Over-exposed items are dropped here: a table with no eligible item would draw uniformly
+        List<Item> eligible = items.stream()
+                .filter(item -> item.responses() <= exposureCap * (meanExposure + 1))
+                .toList();
+        List<List<Item>> byBand = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        for (Item item : eligible) byBand.get(band(item).ordinal()).add(item);
+
+        AliasTable[] bands = new AliasTable[Band.values().length];
+        for (Band band : Band.values()) {
+            List<Item> members = byBand.get(band.ordinal());
+            if (!members.isEmpty()) bands[band.ordinal()] = table(members, meanExposure);
+        }
+        return new Pool(bands, eligible.isEmpty() ? null : table(eligible, meanExposure));
+    }
+
+    private Band band(Item item) {
+        if (item.responses() < minResponses) return Band.MEDIUM;
+        if (item.correctRate() >= easyThreshold) return Band.EASY;
+        if (item.correctRate() < hardThreshold) return Band.HARD;
+        return Band.MEDIUM;
+    }
+
+    private AliasTable table(List<Item> items, double meanExposure) {
+        long[] ids = new long[items.size()];
+        double[] weights = new double[items.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Item item = items.get(i);
+            ids[i] = item.id();
+            boolean calibrated = item.responses() >= minResponses;
+            double quality = calibrated ? Math.max(0.1, 1 + item.discrimination()) : 1.0;
+            weights[i] = quality / (1 + item.responses() / (meanExposure + 1));
+        }
+        return new AliasTable(ids, weights);
+    }
+
+    // Rejection on duplicates; bounded so a nearly exhausted table cannot spin
+    private static void draw(AliasTable table, int wanted, Set<Long> picked, Random random) {
+        int target = picked.size() + Math.max(0, wanted);
+        for (int tries = 0; picked.size() < target && tries < wanted * 10 + 20; tries++) {
+            picked.add(table.sample(random));
+        }
+    }
+
+    // Uniform over the eligible items, for when weighted draws keep colliding; once rejection gives up
+    // (pool nearly used up) the rest is taken walking from a random offset
+    private static void topUp(AliasTable table, int target, Set<Long> picked, Random random) {
+        int n = table.size();
+        for (int tries = 0; picked.size() < target && tries < (target - picked.size()) * 10 + 20; tries++) {
+            picked.add(table.id(random.nextInt(n)));
+        }
+        int start = random.nextInt(n);
+        for (int i = 0; i < n && picked.size() < target; i++) picked.add(table.id((start + i) % n));
+    }
+
+    // One per category first (if count allows), the rest by size, never more than a category holds
+    private static int[] coverage(int count, int[] sizes) {
+        int[] quotas = new int[sizes.length];
+        int remaining = count;
+        for (int i = 0; i < sizes.length && remaining > 0; i++) {
+            if (sizes[i] > 0) { quotas[i] = 1; remaining--; }
+        }
+        double[] shares = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) shares[i] = sizes[i] - quotas[i];
+        int[] extra = apportion(remaining, shares);
+        int overflow = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            quotas[i] += extra[i];
+            if (quotas[i] > sizes[i]) { overflow += quotas[i] - sizes[i]; quotas[i] = sizes[i]; }
+        }
+        for (int i = 0; i < sizes.length && overflow > 0; i++) {
+            int room = Math.min(overflow, sizes[i] - quotas[i]);
+            quotas[i] += room;
+            overflow -= room;
+        }
+        return quotas;
+    }
+
+    // Largest-remainder split of total in proportion to shares
+    private static int[] apportion(int total, double[] shares) {
+        int[] parts = new int[shares.length];
+        double sum = Arrays.stream(shares).map(s -> Math.max(0, s)).sum();
+        if (total <= 0 || sum <= 0) return parts;
+        double[] remainders = new double[shares.length];
+        int assigned = 0;
+        for (int i = 0; i < shares.length; i++) {
+            double exact = total * Math.max(0, shares[i]) / sum;
+            parts[i] = (int) exact;
+            remainders[i] = exact - parts[i];
+            assigned += parts[i];
+        }
+        Integer[] order = new Integer[shares.length];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Double.compare(remainders[b], remainders[a]));
+        for (int i = 0; assigned < total; i = (i + 1) % order.length, assigned++) parts[order[i]]++;
+        return parts;
+    }
+}
@@ -0,0 +1,56 @@
+package com.endesha360.questions_service.service;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Walker/Vose alias table over question ids: O(n) to build, O(1) per weighted draw.
+ * Non-positive total weight degrades to a uniform draw.
+ */
+final class AliasTable {
+
+    private final long[] ids;
+    private final double[] probability;
+    private final int[] alias;
+
+    AliasTable(long[] ids, double[] weights) {
+        int n = ids.length;
+        this.ids = ids;
+        this.probability = new double[n];
+        this.alias = new int[n];
+        double total = 0;
+        for (double w : weights) total += Math.max(0, w);
+
+        ArrayDeque<Integer> small = new ArrayDeque<>();
+        ArrayDeque<Integer> large = new ArrayDeque<>();
+        double[] scaled = new double[n];
+        for (int i = 0; i < n; i++) {
+            scaled[i] = total > 0 ? Math.max(0, weights[i]) * n / total : 1.0;
+            (scaled[i] < 1.0 ? small : large).add(i);
+        }
+        while (!small.isEmpty() && !large.isEmpty()) {
+            int s = small.poll();
+            int l = large.poll();
+            probability[s] = scaled[s];
+            alias[s] = l;
+            scaled[l] = scaled[l] + scaled[s] - 1.0;
+            (scaled[l] < 1.0 ? small : large).add(l);
+        }
+        // Leftovers are 1 up to rounding error
+        while (!large.isEmpty()) probability[large.poll()] = 1.0;
+        while (!small.isEmpty()) probability[small.poll()] = 1.0;
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    long id(int i) {
+        return ids[i];
+    }
+
+    long sample(Random random) {
+        int i = random.nextInt(ids.length);
+        return random.nextDouble() < probability[i] ? ids[i] : ids[alias[i]];
+    }
+}
@@ -0,0 +1,201 @@
+package com.endesha360.questions_service.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store. Uploads are named by their SHA-256, so the same sign uploaded twice
+ * is stored once and a stored file never changes (safe to cache forever). Narrower variants
+ * ({@code <hash>-w<width>.<ext>}) are generated once at upload for mobile clients.
+ */
+@Service
+public class ImageStorageService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+
+    // Hash-named files and their variants, or legacy uploads named <uuid>[.<original extension>]
+    private static final Pattern FILE_NAME = Pattern.compile(
+            "[0-9a-f]{64}(-w[0-9]+)?\\.(png|jpg|gif)" +
+            "|[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[a-z0-9]+)?",
+            Pattern.CASE_INSENSITIVE);
+
+    public record StoredImage(String hash, String url, Map<Integer, String> variants) {}
+
+    @Value("${uploads.dir:uploads}")
+    private String uploadsDir; // default ./uploads
+
+    @Value("${app.images.max-bytes:5242880}")
+    private long maxBytes;
+
+    // Guards against decompression bombs: checked from the header before decoding
+    @Value("${app.images.max-pixels:24000000}")
+    private long maxPixels;
+
+    // Variants are made from a subsampled decode of at most this many pixels (4 bytes each)
+    @Value("${app.images.decode-pixels:4000000}")
+    private long decodePixels;
+
+    @Value("${app.images.variant-widths:320,640}")
+    private List<Integer> variantWidths;
+
+    public StoredImage store(MultipartFile file) throws IOException {
+        if (file.getSize() > maxBytes) {
+            throw new IllegalArgumentException("Image is larger than " + maxBytes + " bytes");
+        }
+        Path dir = imageDir();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "upload-", ".tmp");
+        try {
+            MessageDigest sha256 = sha256();
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            String ext = detectFormat(tmp);
+            Path original = dir.resolve(hash + "." + ext);
+            if (!Files.exists(original)) {
+                Files.move(tmp, original, StandardCopyOption.ATOMIC_MOVE);
+                writeVariants(original, hash, ext);
+            }
+            return describe(hash, ext);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** The stored file for a public image name, if the name is well-formed and the file exists. */
+    public Optional<Path> resolve(String filename) {
+        if (!FILE_NAME.matcher(filename).matches()) return Optional.empty();
+        Path path = imageDir().resolve(filename);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    private StoredImage describe(String hash, String ext) {
+        Map<Integer, String> variants = new TreeMap<>();
+        for (int width : variantWidths) {
+            String name = variantName(hash, ext, width);
+            if (Files.exists(imageDir().resolve(name))) variants.put(width, url(name));
+        }
+        return new StoredImage(hash, url(hash + "." + ext), variants);
+    }
+
+    // png/jpg/gif only; anything ImageIO cannot identify is rejected
+    private String detectFormat(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) throw new IllegalArgumentException("File is not a supported image");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    throw new IllegalArgumentException("Image dimensions are too large");
+                }
+                return switch (reader.getFormatName().toLowerCase(Locale.ROOT)) {
+                    case "jpeg", "jpg" -> "jpg";
+                    case "png" -> "png";
+                    case "gif" -> "gif";
+                    default -> throw new IllegalArgumentException("Unsupported image format: " + reader.getFormatName());
+                };
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private void writeVariants(Path original, String hash, String ext) {
+        try {
+            Decoded decoded = decodeForVariants(original);
+            if (decoded == null) return;
+            BufferedImage source = decoded.image();
+            for (int width : variantWidths) {
+                if (width >= decoded.originalWidth()) continue;
+                int height = Math.max(1, Math.round((float) source.getHeight() * width / source.getWidth()));
+                boolean jpg = ext.equals("jpg");
+                BufferedImage scaled = new BufferedImage(width, height,
+                        jpg ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = scaled.createGraphics();
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(source, 0, 0, width, height, null);
+                g.dispose();
+
+                Path target = original.resolveSibling(variantName(hash, ext, width));
+                Path tmp = Files.createTempFile(original.getParent(), "variant-", ".tmp");
+                ImageIO.write(scaled, jpg ? "jpeg" : "png", tmp.toFile());
+                Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The original is still served; clients fall back to it
+            logger.warn("Could not create variants for image {}: {}", hash, e.getMessage());
+        }
+    }
+
+    private record Decoded(BufferedImage image, int originalWidth) {}
+
+    /**
+     * Decodes the image with source subsampling instead of at full size: every n-th pixel, as coarse
+     * as keeps the result at least twice the widest variant, and always within decode-pixels.
+     */
+    private Decoded decodeForVariants(Path path) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+            Iterator<ImageReader> readers = in == null ? Collections.emptyIterator() : ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                long pixels = (long) width * reader.getHeight(0);
+                int widest = variantWidths.stream().max(Integer::compare).orElse(width);
+                int step = Math.max(1, Math.max(width / (2 * widest),
+                        (int) Math.ceil(Math.sqrt((double) pixels / decodePixels))));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return new Decoded(reader.read(0, param), width);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Variants of gifs are written as png
+    private static String variantName(String hash, String ext, int width) {
+        return hash + "-w" + width + "." + (ext.equals("jpg") ? "jpg" : "png");
+    }
+
+    private static String url(String filename) {
+        return "/static/images/" + filename;
+    }
+
+    private Path imageDir() {
+        return Paths.get(uploadsDir, "images").toAbsolutePath();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.endesha360.questions_service.service;
 
+import com.endesha360.questions_service.security.VerifiedToken;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -22,8 +27,53 @@ public class JwtTokenService {
     @Value("${app.jwt.expiration:86400}")
     private int jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Key and parser are immutable and thread-safe; built once instead of per call
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
+    }
+
+    /** Short-lived token for calls this service makes on its own behalf (e.g. pool change notifications). */
+    public String generateServiceToken() {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("questions-service")
+                .claim("roles", Set.of("SERVICE"))
+                .claim("permissions", Set.of())
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 300_000L))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /** Parses and verifies the token once (signature and expiry); throws JwtException if invalid. */
+    public VerifiedToken verify(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        if (claims.getExpiration() == null) {
+            throw new JwtException("Token has no expiration");
+        }
+        Set<String> roles = toSet(claims.get("roles"));
+        Set<String> permissions = toSet(claims.get("permissions"));
+        // System admin tokens (SystemAdminServices) carry one "role" and their permissions as "authorities"
+        if (claims.get("role") instanceof String role) {
+            roles = union(roles, Set.of(role));
+            permissions = union(permissions, toSet(claims.get("authorities")));
+        }
+        List<GrantedAuthority> authorities = new ArrayList<>(roles.size() + permissions.size());
+        roles.forEach(role -> authorities.add(new SimpleGrantedAuthority("ROLE_" + role)));
+        permissions.forEach(permission -> authorities.add(new SimpleGrantedAuthority(permission)));
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("tenantCode", String.class),
+                roles,
+                permissions,
+                claims.getExpiration().toInstant(),
+                List.copyOf(authorities));
     }
 
     public String getUsernameFromToken(String token) {
@@ -44,27 +94,26 @@ public class JwtTokenService {
         return claims.get("tenantCode", String.class);
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> getRolesFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object rolesObj = claims.get("roles");
-        if (rolesObj instanceof Set) {
-            return (Set<String>) rolesObj;
-        } else if (rolesObj instanceof java.util.List) {
-            return new java.util.HashSet<>((java.util.List<String>) rolesObj);
-        } else {
-            return java.util.Collections.emptySet();
-        }
+        return toSet(getAllClaimsFromToken(token).get("roles"));
     }
 
-    @SuppressWarnings("unchecked")
     public Set<String> getPermissionsFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        Object permsObj = claims.get("permissions");
-        if (permsObj instanceof Set) {
-            return (Set<String>) permsObj;
-        } else if (permsObj instanceof java.util.List) {
-            return new java.util.HashSet<>((java.util.List<String>) permsObj);
+        return toSet(getAllClaimsFromToken(token).get("permissions"));
+    }
+
+    private static Set<String> union(Set<String> a, Set<String> b) {
+        Set<String> all = new java.util.HashSet<>(a);
+        all.addAll(b);
+        return Set.copyOf(all);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> toSet(Object claim) {
+        if (claim instanceof Set) {
+            return Set.copyOf((Set<String>) claim);
+        } else if (claim instanceof java.util.List) {
+            return Set.copyOf((java.util.List<String>) claim);
         } else {
             return java.util.Collections.emptySet();
         }
@@ -76,11 +125,7 @@ public class JwtTokenService {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public Boolean isTokenExpired(String token) {
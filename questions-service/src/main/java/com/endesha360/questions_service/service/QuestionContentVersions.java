@@ -0,0 +1,72 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.repository.QuestionCategoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-category content version behind the ETag of public question listings. The version lives on
+ * question_categories and is bumped in the same transaction as every question write; reads are
+ * served from memory for {@code version-ttl-ms}, which bounds how long another instance's write
+ * can go unnoticed. Local writes evict immediately on commit.
+ */
+@Service
+public class QuestionContentVersions {
+
+    public record Version(long version, Instant updatedAt) {}
+
+    private record Cached(Version version, long loadedAt) {}
+
+    @Autowired private QuestionCategoryRepository questionCategoryRepository;
+    @Autowired private QuestionPoolNotifier questionPoolNotifier;
+    @Autowired private QuestionIdSampler questionIdSampler;
+
+    @Value("${app.questions.etag.version-ttl-ms:5000}")
+    private long ttlMs;
+
+    private final ConcurrentHashMap<Long, Cached> cache = new ConcurrentHashMap<>();
+
+    /** Current version of a category, or empty if the category does not exist. */
+    public Optional<Version> current(Long categoryId) {
+        long now = System.currentTimeMillis();
+        Cached cached = cache.get(categoryId);
+        if (cached == null || now - cached.loadedAt() > ttlMs) {
+            Version version = questionCategoryRepository.findContentVersion(categoryId)
+                    .map(v -> new Version(v.getContentVersion() == null ? 0 : v.getContentVersion(),
+                            v.getContentUpdatedAt() == null ? Instant.EPOCH : v.getContentUpdatedAt()))
+                    .orElse(null);
+            if (version == null) return Optional.empty();
+            cached = new Cached(version, now);
+            cache.put(categoryId, cached);
+        }
+        return Optional.of(cached.version());
+    }
+
+    /** Bumps the categories' versions in the caller's transaction; test-service pools are told after commit. */
+    public void bump(Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) return;
+        questionCategoryRepository.bumpContentVersion(categoryIds, Instant.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoryIds.forEach(cache::remove);
+                    questionIdSampler.evict(categoryIds);
+                    questionPoolNotifier.categoriesChanged(categoryIds);
+                }
+            });
+        } else {
+            categoryIds.forEach(cache::remove);
+            questionIdSampler.evict(categoryIds);
+            questionPoolNotifier.categoriesChanged(categoryIds);
+        }
+    }
+}
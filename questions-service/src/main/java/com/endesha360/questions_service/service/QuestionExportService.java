@@ -0,0 +1,150 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.dto.InternalQuestionDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Streams the question bank as NDJSON or CSV from a server-side cursor: rows are fetched
+ * {@code fetch-size} at a time and written straight out, so memory use does not depend on
+ * the size of the bank. Both formats can be fed back into the file import.
+ */
+@Service
+public class QuestionExportService {
+
+    // PK order; options come from idx_question_options_question_id per row
+    private static final String EXPORT_SQL = "SELECT q.id, q.category_id, c.name AS category_name, q.level_id, " +
+            "l.name AS level_name, q.question_text, q.image_url, q.correct_answer, " +
+            "ARRAY(SELECT o.option_text FROM question_options o WHERE o.question_id = q.id) AS options " +
+            "FROM questions q JOIN question_categories c ON c.id = q.category_id " +
+            "JOIN question_levels l ON l.id = q.level_id";
+
+    // Widest option list, so every CSV row gets the same option1..optionN columns
+    private static final String MAX_OPTIONS_SQL = "SELECT COALESCE(MAX(n), 0) FROM (SELECT COUNT(*) AS n " +
+            "FROM question_options o JOIN questions q ON q.id = o.question_id%s GROUP BY o.question_id) per_question";
+
+    private static final String CSV_HEADER =
+            "id,categoryId,categoryName,levelId,levelName,questionText,imageUrl,correctAnswer";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.questions.export.fetch-size:500}")
+    private int fetchSize;
+
+    private TransactionTemplate readOnly;
+
+    @PostConstruct
+    void init() {
+        // PostgreSQL only honours the fetch size (cursor mode) inside a transaction
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    public static boolean isSupported(String format) {
+        return "ndjson".equalsIgnoreCase(format) || "jsonl".equalsIgnoreCase(format) || "csv".equalsIgnoreCase(format);
+    }
+
+    /** Writes every question (optionally one category) in id order; returns the number written. */
+    public long export(Long categoryId, String format, Writer out) {
+        if (!isSupported(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format + " (use ndjson or csv)");
+        }
+        boolean csv = "csv".equalsIgnoreCase(format);
+        String filter = categoryId != null ? " WHERE q.category_id = ?" : "";
+        String sql = EXPORT_SQL + filter + " ORDER BY q.id";
+        long[] count = {0};
+        readOnly.executeWithoutResult(status -> {
+            try {
+                int optionColumns = csv ? maxOptions(filter, categoryId) : 0;
+                if (csv) out.write(csvHeader(optionColumns));
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    if (categoryId != null) ps.setLong(1, categoryId);
+                    return ps;
+                }, rs -> {
+                    InternalQuestionDto q = toDto(rs);
+                    try {
+                        if (csv) writeCsv(out, q, optionColumns);
+                        else out.write(objectMapper.writeValueAsString(q) + "\n");
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e); // client went away; abort the cursor
+                    }
+                    count[0]++;
+                });
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return count[0];
+    }
+
+    private static InternalQuestionDto toDto(ResultSet rs) throws SQLException {
+        List<String> options = Arrays.asList((String[]) rs.getArray("options").getArray());
+        return InternalQuestionDto.builder()
+                .id(rs.getLong("id"))
+                .categoryId(rs.getLong("category_id"))
+                .categoryName(rs.getString("category_name"))
+                .levelId(rs.getLong("level_id"))
+                .levelName(rs.getString("level_name"))
+                .questionText(rs.getString("question_text"))
+                .imageUrl(rs.getString("image_url"))
+                .correctAnswer(rs.getString("correct_answer"))
+                .options(options)
+                .build();
+    }
+
+    private int maxOptions(String filter, Long categoryId) {
+        String sql = String.format(MAX_OPTIONS_SQL, filter);
+        Integer max = categoryId != null
+                ? jdbcTemplate.queryForObject(sql, Integer.class, categoryId)
+                : jdbcTemplate.queryForObject(sql, Integer.class);
+        return max == null ? 0 : max;
+    }
+
+    private static String csvHeader(int optionColumns) {
+        StringBuilder header = new StringBuilder(CSV_HEADER);
+        for (int i = 1; i <= optionColumns; i++) header.append(",option").append(i);
+        return header.append('\n').toString();
+    }
+
+    // Column layout matches the CSV import; one column per option, since option text may contain "|"
+    private static void writeCsv(Writer out, InternalQuestionDto q, int optionColumns) throws IOException {
+        StringBuilder row = new StringBuilder()
+                .append(q.getId()).append(',').append(q.getCategoryId()).append(',')
+                .append(csvField(q.getCategoryName())).append(',').append(q.getLevelId()).append(',')
+                .append(csvField(q.getLevelName())).append(',').append(csvField(q.getQuestionText())).append(',')
+                .append(csvField(q.getImageUrl())).append(',').append(csvField(q.getCorrectAnswer()));
+        List<String> options = q.getOptions();
+        for (int i = 0; i < optionColumns; i++) {
+            row.append(',').append(i < options.size() ? csvField(options.get(i)) : "");
+        }
+        out.write(row.append('\n').toString());
+    }
+
+    private static String csvField(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,66 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uniform random question ids per (category, level) pool. The pool's ids are read once into a dense
+ * array and kept for {@code id-cache-ttl-ms} (dropped earlier when a question write touches the
+ * category), so a draw is {@code count} array lookups however large or sparse the pool is.
+ */
+@Service
+public class QuestionIdSampler {
+
+    private record PoolKey(Long categoryId, Long levelId) {}
+
+    private record Cached(long[] ids, long loadedAt) {}
+
+    @Autowired private QuestionRepository questionRepository;
+
+    @Value("${app.questions.sample.id-cache-ttl-ms:60000}")
+    private long ttlMs;
+
+    @Value("${app.questions.sample.max-count:1000}")
+    private int maxCount;
+
+    private final ConcurrentHashMap<PoolKey, Cached> pools = new ConcurrentHashMap<>();
+
+    /** Up to {@code count} (capped at max-count) distinct ids, in random order. */
+    public List<Long> sample(Long categoryId, Long levelId, int count) {
+        long[] ids = ids(new PoolKey(categoryId, levelId));
+        int k = Math.min(Math.min(Math.max(count, 0), maxCount), ids.length);
+        // Floyd's algorithm: k draws over the index space, no copy of the pool
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        Set<Integer> chosen = new HashSet<>(k * 2);
+        for (int j = ids.length - k; j < ids.length; j++) {
+            int t = rnd.nextInt(j + 1);
+            if (!chosen.add(t)) chosen.add(j);
+        }
+        List<Long> picked = new ArrayList<>(k);
+        for (int i : chosen) picked.add(ids[i]);
+        Collections.shuffle(picked, rnd);
+        return picked;
+    }
+
+    /** Drops cached pools that may contain these categories (including the all-categories pools). */
+    public void evict(Collection<Long> categoryIds) {
+        pools.keySet().removeIf(key -> key.categoryId() == null || categoryIds.contains(key.categoryId()));
+    }
+
+    private long[] ids(PoolKey key) {
+        long now = System.currentTimeMillis();
+        Cached cached = pools.get(key);
+        if (cached == null || now - cached.loadedAt() > ttlMs) {
+            // Concurrent misses may both load; the scan is cheap and the result identical
+            cached = new Cached(questionRepository.poolIds(key.categoryId(), key.levelId()), now);
+            pools.put(key, cached);
+        }
+        return cached.ids();
+    }
+}
@@ -0,0 +1,270 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.dto.InternalQuestionDto;
+import com.endesha360.questions_service.dto.QuestionCreateRequest;
+import com.endesha360.questions_service.dto.QuestionImportProgress;
+import com.endesha360.questions_service.dto.QuestionImportResponse;
+import com.endesha360.questions_service.model.QuestionCategory;
+import com.endesha360.questions_service.model.QuestionLevel;
+import com.endesha360.questions_service.repository.QuestionCategoryRepository;
+import com.endesha360.questions_service.repository.QuestionLevelRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based question import: categories and levels are resolved once per chunk, every row is
+ * validated before anything is written, and valid rows go in as JDBC batches with ids drawn
+ * from the questions identity sequence up front (so options can be batched too).
+ */
+@Service
+public class QuestionImportService {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionImportService.class);
+
+    private static final String NEXT_IDS =
+            "SELECT nextval(pg_get_serial_sequence('questions', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_QUESTION = "INSERT INTO questions " +
+            "(id, category_id, level_id, question_text, image_url, correct_answer, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_OPTION =
+            "INSERT INTO question_options (question_id, option_text) VALUES (?, ?)";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private QuestionCategoryRepository questionCategoryRepository;
+    @Autowired private QuestionLevelRepository questionLevelRepository;
+
+    @Autowired private QuestionContentVersions questionContentVersions;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.questions.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.questions.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.questions.import.max-reported-failures:1000}")
+    private int maxReportedFailures;
+
+    private TransactionTemplate chunkTransaction;
+
+    @PostConstruct
+    void init() {
+        chunkTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /** Imports all valid rows in one transaction and reports the outcome of every row. */
+    @Transactional
+    public QuestionImportResponse importAll(List<QuestionCreateRequest> requests) {
+        List<QuestionImportResponse.RowResult> report = new ArrayList<>(requests.size());
+        importRows(requests, 1, report);
+        return summarize(report);
+    }
+
+    /**
+     * Validates and inserts one chunk in the caller's transaction. Appends a result per row
+     * (numbered from {@code firstRow}) to {@code report} and returns the imported questions.
+     */
+    public List<InternalQuestionDto> importRows(List<QuestionCreateRequest> rows, int firstRow,
+                                                List<QuestionImportResponse.RowResult> report) {
+        List<Integer> numbers = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) numbers.add(firstRow + i);
+        return importRows(rows, numbers, report);
+    }
+
+    /**
+     * Streams an import file (csv or jsonl), committing every {@code app.questions.import.chunk-size}
+     * rows in its own transaction and calling {@code progress} after each chunk. Memory stays bounded
+     * by one chunk: the returned report counts every failure but lists only the first
+     * {@code app.questions.import.max-reported-failures} failed rows.
+     */
+    public QuestionImportResponse importStream(BufferedReader in, String format,
+                                               Consumer<QuestionImportProgress> progress) throws IOException {
+        QuestionRowReader reader = new QuestionRowReader(in, format, objectMapper);
+        // Highest row number on top, so keeping the first N failures is a poll away
+        PriorityQueue<QuestionImportResponse.RowResult> failures = new PriorityQueue<>(
+                Comparator.comparingInt(QuestionImportResponse.RowResult::getRow).reversed());
+        int rowsRead = 0, imported = 0, failed = 0;
+
+        List<QuestionCreateRequest> chunk = new ArrayList<>(chunkSize);
+        List<Integer> numbers = new ArrayList<>(chunkSize);
+        QuestionRowReader.Row row;
+        do {
+            row = reader.next();
+            if (row != null) {
+                rowsRead++;
+                if (row.error() != null) {
+                    failed++;
+                    keepFailure(failures, new QuestionImportResponse.RowResult(row.number(), null, row.error()));
+                } else {
+                    chunk.add(row.request());
+                    numbers.add(row.number());
+                }
+            }
+            if (!chunk.isEmpty() && (chunk.size() == chunkSize || row == null)) {
+                List<QuestionImportResponse.RowResult> report = importChunk(chunk, numbers);
+                for (QuestionImportResponse.RowResult r : report) {
+                    if (r.getError() == null) {
+                        imported++;
+                    } else {
+                        failed++;
+                        keepFailure(failures, r);
+                    }
+                }
+                chunk.clear();
+                numbers.clear();
+                progress.accept(new QuestionImportProgress(rowsRead, imported, failed));
+            }
+        } while (row != null);
+
+        List<QuestionImportResponse.RowResult> reported = new ArrayList<>(failures);
+        reported.sort(Comparator.comparingInt(QuestionImportResponse.RowResult::getRow));
+        return QuestionImportResponse.builder()
+                .totalRows(rowsRead)
+                .imported(imported)
+                .failed(failed)
+                .rows(reported)
+                .build();
+    }
+
+    private void keepFailure(PriorityQueue<QuestionImportResponse.RowResult> failures,
+                             QuestionImportResponse.RowResult failure) {
+        failures.add(failure);
+        if (failures.size() > maxReportedFailures) failures.poll();
+    }
+
+    // One transaction per chunk; a chunk the database rejects fails as a whole and the import goes on
+    private List<QuestionImportResponse.RowResult> importChunk(List<QuestionCreateRequest> chunk, List<Integer> numbers) {
+        try {
+            return chunkTransaction.execute(status -> {
+                List<QuestionImportResponse.RowResult> report = new ArrayList<>(chunk.size());
+                importRows(chunk, numbers, report);
+                return report;
+            });
+        } catch (DataAccessException e) {
+            logger.warn("Import chunk of rows {}-{} failed: {}", numbers.get(0), numbers.get(numbers.size() - 1),
+                    e.getMostSpecificCause().getMessage());
+            String error = "Chunk rejected by the database: " + e.getMostSpecificCause().getMessage();
+            return numbers.stream().map(n -> new QuestionImportResponse.RowResult(n, null, error)).toList();
+        }
+    }
+
+    private List<InternalQuestionDto> importRows(List<QuestionCreateRequest> rows, List<Integer> numbers,
+                                                 List<QuestionImportResponse.RowResult> report) {
+        Map<Long, QuestionCategory> categories = questionCategoryRepository.findAllById(rows.stream()
+                        .map(QuestionCreateRequest::getCategoryId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(QuestionCategory::getId, Function.identity()));
+        Map<Long, QuestionLevel> levels = questionLevelRepository.findAllById(rows.stream()
+                        .map(QuestionCreateRequest::getLevelId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(QuestionLevel::getId, Function.identity()));
+
+        String[] errors = new String[rows.size()];
+        List<QuestionCreateRequest> valid = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            errors[i] = validate(rows.get(i), categories, levels);
+            if (errors[i] == null) valid.add(rows.get(i));
+        }
+
+        Iterator<Long> ids = valid.isEmpty() ? Collections.emptyIterator()
+                : jdbcTemplate.queryForList(NEXT_IDS, Long.class, valid.size()).iterator();
+        List<Long> validIds = new ArrayList<>(valid.size());
+        List<InternalQuestionDto> created = new ArrayList<>(valid.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] != null) {
+                report.add(new QuestionImportResponse.RowResult(numbers.get(i), null, errors[i]));
+                continue;
+            }
+            QuestionCreateRequest req = rows.get(i);
+            Long id = ids.next();
+            validIds.add(id);
+            report.add(new QuestionImportResponse.RowResult(numbers.get(i), id, null));
+            created.add(InternalQuestionDto.builder()
+                    .id(id)
+                    .categoryId(req.getCategoryId())
+                    .categoryName(categories.get(req.getCategoryId()).getName())
+                    .questionText(req.getQuestionText())
+                    .imageUrl(req.getImageUrl())
+                    .options(req.getOptions())
+                    .correctAnswer(req.getCorrectAnswer())
+                    .levelId(req.getLevelId())
+                    .levelName(levels.get(req.getLevelId()).getName())
+                    .build());
+        }
+        if (!valid.isEmpty()) {
+            insert(valid, validIds);
+            questionContentVersions.bump(valid.stream().map(QuestionCreateRequest::getCategoryId)
+                    .collect(Collectors.toSet()));
+        }
+        return created;
+    }
+
+    public static QuestionImportResponse summarize(List<QuestionImportResponse.RowResult> report) {
+        int failed = (int) report.stream().filter(r -> r.getError() != null).count();
+        return QuestionImportResponse.builder()
+                .totalRows(report.size())
+                .imported(report.size() - failed)
+                .failed(failed)
+                .rows(report)
+                .build();
+    }
+
+    private void insert(List<QuestionCreateRequest> questions, List<Long> ids) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<Integer> positions = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) positions.add(i);
+        jdbcTemplate.batchUpdate(INSERT_QUESTION, positions, batchSize, (ps, i) -> {
+            QuestionCreateRequest q = questions.get(i);
+            ps.setLong(1, ids.get(i));
+            ps.setLong(2, q.getCategoryId());
+            ps.setLong(3, q.getLevelId());
+            ps.setString(4, q.getQuestionText());
+            ps.setString(5, q.getImageUrl());
+            ps.setString(6, q.getCorrectAnswer());
+            ps.setObject(7, now);
+        });
+
+        List<Object[]> options = new ArrayList<>();
+        for (int i = 0; i < questions.size(); i++) {
+            for (String option : questions.get(i).getOptions()) options.add(new Object[]{ids.get(i), option});
+        }
+        jdbcTemplate.batchUpdate(INSERT_OPTION, options, batchSize, (ps, row) -> {
+            ps.setLong(1, (Long) row[0]);
+            ps.setString(2, (String) row[1]);
+        });
+    }
+
+    // Same rules as QuestionCreateRequest's constraints and QuestionService.createInternal
+    private static String validate(QuestionCreateRequest req, Map<Long, QuestionCategory> categories,
+                                   Map<Long, QuestionLevel> levels) {
+        if (req == null) return "Row is empty";
+        if (req.getCategoryId() == null || !categories.containsKey(req.getCategoryId())) return "Category not found";
+        if (req.getLevelId() == null || !levels.containsKey(req.getLevelId())) return "Level not found";
+        if (req.getQuestionText() == null || req.getQuestionText().isBlank()) return "Question text is required";
+        if (req.getOptions() == null || req.getOptions().size() < 2) return "At least 2 options are required";
+        if (req.getOptions().stream().anyMatch(o -> o == null || o.isBlank())) return "Options must not be blank";
+        if (req.getCorrectAnswer() == null || req.getCorrectAnswer().isBlank()) return "Correct answer is required";
+        if (!req.getOptions().contains(req.getCorrectAnswer())) return "Correct answer must be one of the options";
+        // varchar(255) columns; caught here so one long value cannot reject a whole chunk
+        if (req.getOptions().stream().anyMatch(o -> o.length() > 255)) return "Options must be at most 255 characters";
+        if (req.getImageUrl() != null && req.getImageUrl().length() > 255) return "Image URL must be at most 255 characters";
+        return null;
+    }
+}
@@ -0,0 +1,89 @@
+package com.endesha360.questions_service.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Tells every test-service instance to reload its cached question pools for changed categories.
+ * Called after commit and sent from a background thread, so question writes never wait on it;
+ * a missed signal only delays the change until test-service's periodic refresh.
+ */
+@Service
+public class QuestionPoolNotifier {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPoolNotifier.class);
+
+    @Autowired private DiscoveryClient discoveryClient;
+    @Autowired private JwtTokenService jwtTokenService;
+
+    @Value("${app.questions.pool-notify.service-id:test-service}")
+    private String serviceId;
+
+    private final RestClient restClient = RestClient.create();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "question-pool-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Categories waiting to be signalled; a chunked import bumps the same category many times
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    public void categoriesChanged(Collection<Long> categoryIds) {
+        if (pending.addAll(categoryIds)) executor.execute(this::drain);
+    }
+
+    private void drain() {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = pending.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        if (!ids.isEmpty()) send(ids);
+    }
+
+    private void send(List<Long> categoryIds) {
+        List<ServiceInstance> instances;
+        try {
+            instances = discoveryClient.getInstances(serviceId);
+        } catch (Exception e) {
+            logger.warn("Cannot look up {} instances for pool refresh: {}", serviceId, e.getMessage());
+            return;
+        }
+        String token = jwtTokenService.generateServiceToken();
+        for (ServiceInstance instance : instances) {
+            for (Long categoryId : categoryIds) {
+                try {
+                    restClient.post()
+                            .uri(instance.getUri() + "/api/internal/question-pools/refresh?categoryId={id}", categoryId)
+                            .header("Authorization", "Bearer " + token)
+                            .retrieve()
+                            .toBodilessEntity();
+                } catch (Exception e) {
+                    logger.warn("Failed to signal pool refresh to {} for category {}: {}",
+                            instance.getUri(), categoryId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
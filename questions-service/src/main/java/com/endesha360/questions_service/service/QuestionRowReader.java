@@ -0,0 +1,149 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.dto.QuestionCreateRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Incremental reader for question import files; holds one row in memory at a time.
+ * <ul>
+ *   <li>{@code jsonl}: one QuestionCreateRequest JSON object per line</li>
+ *   <li>{@code csv}: header row with categoryId, levelId, questionText, imageUrl, correctAnswer and either
+ *   an {@code options} column ("|"-separated) or one column per option (option1, option2, ...)</li>
+ * </ul>
+ */
+class QuestionRowReader {
+
+    record Row(int number, QuestionCreateRequest request, String error) {}
+
+    private final BufferedReader in;
+    private final boolean csv;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private List<Integer> optionColumns;
+    private int rowNumber;
+
+    QuestionRowReader(BufferedReader in, String format, ObjectMapper objectMapper) {
+        if (!"csv".equalsIgnoreCase(format) && !"jsonl".equalsIgnoreCase(format) && !"ndjson".equalsIgnoreCase(format)) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + " (use csv or jsonl)");
+        }
+        this.in = in;
+        this.csv = "csv".equalsIgnoreCase(format);
+        this.objectMapper = objectMapper;
+    }
+
+    /** Next data row, or null at end of input. Blank lines are skipped and not numbered. */
+    Row next() throws IOException {
+        return csv ? nextCsv() : nextJson();
+    }
+
+    private Row nextJson() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) return null;
+        } while (line.isBlank());
+        int number = ++rowNumber;
+        try {
+            return new Row(number, objectMapper.readValue(line, QuestionCreateRequest.class), null);
+        } catch (IOException e) {
+            return new Row(number, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row nextCsv() throws IOException {
+        if (columns == null) readHeader();
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) return null;
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+        int number = ++rowNumber;
+        try {
+            QuestionCreateRequest req = new QuestionCreateRequest();
+            req.setCategoryId(parseId(field(fields, "categoryid")));
+            req.setLevelId(parseId(field(fields, "levelid")));
+            req.setQuestionText(field(fields, "questiontext"));
+            req.setImageUrl(field(fields, "imageurl"));
+            req.setCorrectAnswer(field(fields, "correctanswer"));
+            List<String> options = new ArrayList<>();
+            if (columns.containsKey("options")) {
+                String joined = field(fields, "options");
+                if (joined != null) options.addAll(Arrays.asList(joined.split("\\|")));
+            } else {
+                for (int i : optionColumns) {
+                    if (i < fields.size() && !fields.get(i).isEmpty()) options.add(fields.get(i));
+                }
+            }
+            req.setOptions(options);
+            return new Row(number, req, null);
+        } catch (NumberFormatException e) {
+            return new Row(number, null, "Malformed CSV row: " + e.getMessage());
+        }
+    }
+
+    private void readHeader() throws IOException {
+        List<String> header = readRecord();
+        if (header == null) throw new IllegalArgumentException("CSV file is empty");
+        columns = new HashMap<>();
+        optionColumns = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "");
+            if (i == 0 && name.startsWith("\uFEFF")) name = name.substring(1); // Excel BOM
+            columns.put(name, i);
+            if (name.startsWith("option") && !name.equals("options")) optionColumns.add(i);
+        }
+        for (String required : List.of("categoryid", "levelid", "questiontext", "correctanswer")) {
+            if (!columns.containsKey(required)) throw new IllegalArgumentException("CSV header is missing " + required);
+        }
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer i = columns.get(column);
+        if (i == null || i >= fields.size() || fields.get(i).isEmpty()) return null;
+        return fields.get(i);
+    }
+
+    private static Long parseId(String value) {
+        return value == null ? null : Long.valueOf(value.trim());
+    }
+
+    // RFC 4180 record: quoted fields may contain commas, line breaks and "" for a quote
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = in.read();
+        if (c == -1) return null;
+        for (; c != -1; c = in.read()) {
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                    continue;
+                }
+                in.mark(1);
+                int next = in.read();
+                if (next == '"') {
+                    field.append('"');
+                } else {
+                    quoted = false;
+                    if (next != -1) in.reset();
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -8,19 +8,35 @@ import com.endesha360.questions_service.repository.QuestionCategoryRepository;
 import com.endesha360.questions_service.repository.QuestionRepository;
 import com.endesha360.questions_service.repository.QuestionLevelRepository;
 import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class QuestionService {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionService.class);
 
     @Autowired private QuestionRepository questionRepository;
     @Autowired private QuestionCategoryRepository questionCategoryRepository;
 
     @Autowired private QuestionLevelRepository questionLevelRepository;
 
+    @Autowired private QuestionImportService questionImportService;
+
+    @Autowired private QuestionContentVersions questionContentVersions;
+
+    @Autowired private AdaptiveSelectionService adaptiveSelectionService;
+
+    @Autowired private QuestionIdSampler questionIdSampler;
+
     @Transactional
     public PublicQuestionDto create(QuestionCreateRequest req) {
         QuestionCategory cat = questionCategoryRepository.findById(req.getCategoryId())
@@ -43,6 +59,7 @@ public class QuestionService {
     q.setQuestionLevel(level);
 
         q = questionRepository.save(q);
+        questionContentVersions.bump(List.of(cat.getId()));
         return toPublicDto(q);
     }
 
@@ -52,18 +69,42 @@ public class QuestionService {
                 .toList();
     }
 
-    /** Internal for test-service: returns pool (with answers) and shuffles result list. */
+    /** Internal for test-service: returns a random pool (with answers) of up to {@code limit} questions. */
     public List<InternalQuestionDto> poolInternal(Long categoryId, Long levelId, int limit) {
-        List<Question> all;
-        if (categoryId != null && levelId != null) {
-            all = questionRepository.findAllByQuestionCategoryIdAndQuestionLevelId(categoryId, levelId);
-        } else if (categoryId != null) {
-            all = questionRepository.findAllByQuestionCategoryId(categoryId);
-        } else {
-            all = questionRepository.findAll();
-        }
-        Collections.shuffle(all);
-        return all.stream().limit(limit).map(this::toInternalDto).toList();
+        return sampleInternal(categoryId, levelId, limit);
+    }
+
+    /** Picks {@code count} random ids from the cached pool ids, then fetches only those questions with options joined. */
+    public List<InternalQuestionDto> sampleInternal(Long categoryId, Long levelId, int count) {
+        List<Long> ids = questionIdSampler.sample(categoryId, levelId, count);
+        if (ids.isEmpty()) return List.of();
+        List<Question> picked = new ArrayList<>(questionRepository.findAllWithDetailsByIdIn(ids));
+        Collections.shuffle(picked);
+        return picked.stream().map(this::toInternalDto).toList();
+    }
+
+    /** Balanced exam from item statistics: difficulty mix (easy, medium, hard) and coverage of every category. */
+    public List<InternalQuestionDto> selectInternal(List<Long> categoryIds, Long levelId, int count, double[] mix) {
+        List<Long> ids = adaptiveSelectionService.select(categoryIds, levelId, count, mix);
+        if (ids.isEmpty()) return List.of();
+        List<Question> picked = new ArrayList<>(questionRepository.findAllWithDetailsByIdIn(ids));
+        Collections.shuffle(picked);
+        return picked.stream().map(this::toInternalDto).toList();
+    }
+
+    /** Admin listing: pages ids at the database, then fetches only that page with options joined. */
+    public Page<InternalQuestionDto> searchInternal(Long categoryId, String search, Pageable pageable) {
+        Page<Long> ids = questionRepository.searchIds(categoryId, search, pageable);
+        if (ids.isEmpty()) return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        Map<Long, Question> byId = questionRepository.findAllWithDetailsByIdIn(ids.getContent()).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        // Page order comes from the id query; a question deleted in between is simply left out
+        List<InternalQuestionDto> content = ids.getContent().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::toInternalDto)
+                .toList();
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
 
     private PublicQuestionDto toPublicDto(Question q) {
@@ -115,11 +156,12 @@ public class QuestionService {
         q.setQuestionLevel(level);
 
         q = questionRepository.save(q);
+        questionContentVersions.bump(List.of(cat.getId()));
         return toInternalDto(q);
     }
 
     public InternalQuestionDto getInternalById(Long id) {
-        Question q = questionRepository.findById(id)
+        Question q = questionRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Question not found"));
         return toInternalDto(q);
     }
@@ -139,6 +181,8 @@ public class QuestionService {
             throw new RuntimeException("Correct answer must be one of the options");
         }
 
+        // Both listings change when a question moves between categories
+        questionContentVersions.bump(new HashSet<>(List.of(q.getQuestionCategory().getId(), cat.getId())));
         q.setQuestionCategory(cat);
         q.setQuestionText(req.getQuestionText());
         q.setImageUrl(req.getImageUrl());
@@ -152,23 +196,18 @@ public class QuestionService {
 
     @Transactional
     public void delete(Long id) {
-        if (!questionRepository.existsById(id)) {
-            throw new RuntimeException("Question not found");
-        }
+        Long categoryId = questionRepository.findCategoryIdById(id)
+                .orElseThrow(() -> new RuntimeException("Question not found"));
         questionRepository.deleteById(id);
+        questionContentVersions.bump(List.of(categoryId));
     }
 
     @Transactional
     public List<InternalQuestionDto> bulkCreateInternal(List<QuestionCreateRequest> requests) {
-        List<InternalQuestionDto> results = new ArrayList<>();
-        for (QuestionCreateRequest req : requests) {
-            try {
-                results.add(createInternal(req));
-            } catch (Exception e) {
-                // Log error and continue with next question
-                System.err.println("Failed to create question: " + e.getMessage());
-            }
-        }
-        return results;
+        List<QuestionImportResponse.RowResult> report = new ArrayList<>(requests.size());
+        List<InternalQuestionDto> created = questionImportService.importRows(requests, 1, report);
+        report.stream().filter(r -> r.getError() != null)
+                .forEach(r -> logger.warn("Failed to create question in row {}: {}", r.getRow(), r.getError()));
+        return created;
     }
 }
@@ -0,0 +1,79 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.dto.QuestionStatisticsDto;
+import com.endesha360.questions_service.repository.CountView;
+import com.endesha360.questions_service.repository.QuestionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Question bank statistics for the admin dashboard, computed with COUNT/GROUP BY queries and
+ * cached for a short TTL so polling costs one in-memory read between refreshes.
+ */
+@Service
+public class QuestionStatisticsService {
+
+    @Autowired private QuestionRepository questionRepository;
+
+    @Value("${app.questions.stats.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${app.questions.stats.months:12}")
+    private int months;
+
+    private volatile Snapshot snapshot;
+
+    public QuestionStatisticsDto getStatistics() {
+        Snapshot current = snapshot;
+        if (current != null && current.expiresAt().isAfter(Instant.now())) return current.stats();
+        synchronized (this) {
+            // Concurrent pollers wait for one refresh instead of each running the queries
+            current = snapshot;
+            if (current == null || !current.expiresAt().isAfter(Instant.now())) {
+                QuestionStatisticsDto stats = compute();
+                current = new Snapshot(stats, stats.getComputedAt().plusMillis(ttlMs));
+                snapshot = current;
+            }
+            return current.stats();
+        }
+    }
+
+    private QuestionStatisticsDto compute() {
+        YearMonth thisMonth = YearMonth.now(ZoneOffset.UTC);
+        Instant monthStart = thisMonth.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        Instant windowStart = thisMonth.minusMonths(months - 1L).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+
+        List<QuestionStatisticsDto.Bucket> byCategory = toBuckets(questionRepository.countByCategory());
+        List<QuestionStatisticsDto.Bucket> byLevel = toBuckets(questionRepository.countByLevel());
+        List<QuestionStatisticsDto.Bucket> byMonth = questionRepository.countByMonthSince(windowStart).stream()
+                .map(row -> new QuestionStatisticsDto.Bucket(null, (String) row[0], ((Number) row[1]).longValue()))
+                .toList();
+
+        long total = questionRepository.count();
+        return QuestionStatisticsDto.builder()
+                .totalQuestions(total)
+                .totalCategories(byCategory.size())
+                .totalLevels(byLevel.size())
+                .questionsThisMonth(questionRepository.countByCreatedAtGreaterThanEqual(monthStart))
+                .averageQuestionsPerCategory(byCategory.isEmpty() ? 0 : (double) total / byCategory.size())
+                .byCategory(byCategory)
+                .byLevel(byLevel)
+                .byMonth(byMonth)
+                .computedAt(Instant.now())
+                .build();
+    }
+
+    private static List<QuestionStatisticsDto.Bucket> toBuckets(List<CountView> rows) {
+        return rows.stream()
+                .map(r -> new QuestionStatisticsDto.Bucket(r.getId(), r.getLabel(), r.getCount()))
+                .toList();
+    }
+
+    private record Snapshot(QuestionStatisticsDto stats, Instant expiresAt) {}
+}
@@ -0,0 +1,49 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.dto.ItemResponseStatsDto;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class QuestionStatsService {
+
+    // Relative upsert: concurrent batches add up instead of overwriting each other
+    private static final String UPSERT_SQL = "INSERT INTO question_stats " +
+            "(question_id, responses, correct, score_sum, score_sq_sum, correct_score_sum, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, now()) ON CONFLICT (question_id) DO UPDATE SET " +
+            "responses = question_stats.responses + EXCLUDED.responses, " +
+            "correct = question_stats.correct + EXCLUDED.correct, " +
+            "score_sum = question_stats.score_sum + EXCLUDED.score_sum, " +
+            "score_sq_sum = question_stats.score_sq_sum + EXCLUDED.score_sq_sum, " +
+            "correct_score_sum = question_stats.correct_score_sum + EXCLUDED.correct_score_sum, " +
+            "updated_at = EXCLUDED.updated_at";
+
+    // Claimed in the same transaction as the upsert: zero rows means the batch was already applied
+    private static final String CLAIM_BATCH_SQL = "INSERT INTO item_stats_batch (batch_id, recorded_at) " +
+            "VALUES (?, now()) ON CONFLICT (batch_id) DO NOTHING";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Transactional
+    public void record(String batchId, List<ItemResponseStatsDto> deltas) {
+        if (deltas.isEmpty()) return;
+        if (jdbcTemplate.update(CLAIM_BATCH_SQL, batchId) == 0) return;
+        // Sorted so concurrent batches lock rows in the same order
+        List<ItemResponseStatsDto> sorted = deltas.stream()
+                .filter(d -> d.getQuestionId() != null && d.getResponses() > 0)
+                .sorted((a, b) -> Long.compare(a.getQuestionId(), b.getQuestionId()))
+                .toList();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, sorted, sorted.size(), (ps, d) -> {
+            ps.setLong(1, d.getQuestionId());
+            ps.setLong(2, d.getResponses());
+            ps.setLong(3, d.getCorrect());
+            ps.setDouble(4, d.getScoreSum());
+            ps.setDouble(5, d.getScoreSqSum());
+            ps.setDouble(6, d.getCorrectScoreSum());
+        });
+    }
+}
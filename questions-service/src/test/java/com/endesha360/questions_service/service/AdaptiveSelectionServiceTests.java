@@ -0,0 +1,85 @@
+package com.endesha360.questions_service.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveSelectionServiceTests {
+
+    private static final double[] MIX = {0.3, 0.4, 0.3};
+    private static final long CATEGORY = 1L;
+    private static final long LEVEL = 1L;
+
+    private AdaptiveSelectionService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdaptiveSelectionService();
+        ReflectionTestUtils.setField(service, "minResponses", 20);
+        ReflectionTestUtils.setField(service, "easyThreshold", 0.75);
+        ReflectionTestUtils.setField(service, "hardThreshold", 0.45);
+        ReflectionTestUtils.setField(service, "exposureCap", 3.0);
+    }
+
+    @Test
+    void selectsNothingBeforeTheIndexIsBuilt() {
+        assertTrue(service.select(List.of(CATEGORY), LEVEL, 5, MIX).isEmpty());
+    }
+
+    @Test
+    void neverSelectsOverExposedItems() {
+        // Ids 1..20 answered 100 times each; ids 101..105 answered far beyond 3x the pool mean
+        List<AdaptiveSelectionService.ItemRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) rows.add(row(id, 100));
+        for (long id = 101; id <= 105; id++) rows.add(row(id, 100_000));
+        service.index(rows);
+
+        for (int n = 0; n < 500; n++) {
+            List<Long> picked = service.select(List.of(CATEGORY), LEVEL, 10, MIX);
+            assertEquals(10, picked.size());
+            assertTrue(picked.stream().allMatch(id -> id <= 20), "picked " + picked);
+        }
+    }
+
+    @Test
+    void leavesTheExamShortRatherThanBreakTheCap() {
+        List<AdaptiveSelectionService.ItemRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 4; id++) rows.add(row(id, 100));
+        rows.add(row(99, 100_000));
+        service.index(rows);
+
+        List<Long> picked = service.select(List.of(CATEGORY), LEVEL, 10, MIX);
+
+        assertEquals(Set.of(1L, 2L, 3L, 4L), new HashSet<>(picked));
+    }
+
+    @Test
+    void fillsShortBandsFromAcrossThePool() {
+        // Every item is medium, so an easy/hard mix is filled entirely by the top-up
+        List<AdaptiveSelectionService.ItemRow> rows = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) rows.add(row(id, 100));
+        service.index(rows);
+
+        Set<Long> seen = new HashSet<>();
+        for (int n = 0; n < 200; n++) {
+            List<Long> picked = service.select(List.of(CATEGORY), LEVEL, 5, new double[]{0.5, 0, 0.5});
+            assertEquals(5, new HashSet<>(picked).size());
+            seen.addAll(picked);
+        }
+        assertEquals(50, seen.size());
+    }
+
+    // Half answered correctly: a calibrated medium item with neutral discrimination
+    private static AdaptiveSelectionService.ItemRow row(long id, long responses) {
+        return new AdaptiveSelectionService.ItemRow(id, CATEGORY, LEVEL, responses, responses / 2,
+                responses * 0.5, responses * 0.3, responses / 2 * 0.5);
+    }
+}
@@ -0,0 +1,48 @@
+package com.endesha360.questions_service.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AliasTableTests {
+
+    private static final int DRAWS = 200_000;
+
+    @Test
+    void drawsInProportionToWeight() {
+        long[] counts = draw(new long[]{10, 20, 30, 40}, new double[]{1, 2, 3, 4});
+        for (int i = 0; i < counts.length; i++) {
+            assertEquals((i + 1) / 10.0, counts[i] / (double) DRAWS, 0.01, "id " + (i + 1) * 10);
+        }
+    }
+
+    @Test
+    void neverDrawsZeroWeight() {
+        long[] counts = draw(new long[]{1, 2, 3}, new double[]{0, 5, 0});
+        assertEquals(0, counts[0]);
+        assertEquals(DRAWS, counts[1]);
+        assertEquals(0, counts[2]);
+    }
+
+    @Test
+    void allZeroWeightsDrawUniformly() {
+        long[] counts = draw(new long[]{1, 2, 3, 4}, new double[]{0, 0, 0, 0});
+        for (long count : counts) assertEquals(0.25, count / (double) DRAWS, 0.01);
+    }
+
+    // Counts per position of ids (ids are looked up by value)
+    private static long[] draw(long[] ids, double[] weights) {
+        AliasTable table = new AliasTable(ids, weights);
+        Random random = new Random(42);
+        long[] counts = new long[ids.length];
+        for (int n = 0; n < DRAWS; n++) {
+            long id = table.sample(random);
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) counts[i]++;
+            }
+        }
+        return counts;
+    }
+}
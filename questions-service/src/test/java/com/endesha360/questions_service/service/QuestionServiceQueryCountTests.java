@@ -0,0 +1,82 @@
+package com.endesha360.questions_service.service;
+
+import com.endesha360.questions_service.model.Question;
+import com.endesha360.questions_service.model.QuestionCategory;
+import com.endesha360.questions_service.model.QuestionLevel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Guards against N+1 regressions: listing questions must cost the same number of queries for any N
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class QuestionServiceQueryCountTests {
+
+    @Autowired private QuestionService questionService;
+    @PersistenceContext private EntityManager entityManager;
+
+    @Test
+    void listPublicUsesOneQueryRegardlessOfSize() {
+        assertEquals(1, queriesToList(3));
+        assertEquals(1, queriesToList(30));
+    }
+
+    @Test
+    void getInternalByIdUsesOneQuery() {
+        Long categoryId = seed(1);
+        Long id = questionService.listPublic(categoryId).get(0).getId();
+        Statistics stats = statistics();
+        entityManager.clear();
+        stats.clear();
+
+        questionService.getInternalById(id);
+
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    private long queriesToList(int questions) {
+        Long categoryId = seed(questions);
+        Statistics stats = statistics();
+        stats.clear();
+
+        assertEquals(questions, questionService.listPublic(categoryId).size());
+
+        return stats.getPrepareStatementCount();
+    }
+
+    // Persists a fresh category with the given number of questions, then detaches everything
+    private Long seed(int questions) {
+        QuestionCategory category = new QuestionCategory();
+        category.setName("qc-" + UUID.randomUUID());
+        entityManager.persist(category);
+        QuestionLevel level = new QuestionLevel();
+        level.setName("ql-" + UUID.randomUUID());
+        entityManager.persist(level);
+        for (int i = 0; i < questions; i++) {
+            Question q = new Question();
+            q.setQuestionCategory(category);
+            q.setQuestionLevel(level);
+            q.setQuestionText("Question " + i);
+            q.setOptions(List.of("A", "B", "C"));
+            q.setCorrectAnswer("A");
+            entityManager.persist(q);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return category.getId();
+    }
+
+    private Statistics statistics() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -52,6 +52,12 @@ public class StudentProgressController {
         }
     }
 
+    @PostMapping("/update-after-exam/batch")
+    public ResponseEntity<String> updateProgressAfterExams(@RequestBody List<ExamResultUpdateRequest> requests) {
+        int applied = progressService.applyExamResults(requests);
+        return ResponseEntity.ok("Applied " + applied + " of " + requests.size() + " exam results");
+    }
+
     @GetMapping("/comprehensive/student/{studentId}")
     public ResponseEntity<List<StudentProgressWithResultsDto>> getComprehensiveProgress(@PathVariable Long studentId) {
         try {
@@ -4,6 +4,7 @@ import lombok.Data;
 
 @Data
 public class ExamResultUpdateRequest {
+    private String eventId; // idempotency key from test-service (exam attempt id); optional
     private Long studentId;
     private Long courseId;
     private String moduleName;
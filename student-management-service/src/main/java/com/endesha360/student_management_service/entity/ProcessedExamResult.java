@@ -0,0 +1,20 @@
+package com.endesha360.student_management_service.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Idempotency log for exam results delivered by test-service's outbox
+@Entity
+@Table(name = "processed_exam_results")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedExamResult {
+    @Id
+    @Column(name = "event_id", length = 64)
+    private String eventId;
+
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt;
+}
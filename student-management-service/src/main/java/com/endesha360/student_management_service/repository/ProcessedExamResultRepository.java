@@ -0,0 +1,9 @@
+package com.endesha360.student_management_service.repository;
+
+import com.endesha360.student_management_service.entity.ProcessedExamResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProcessedExamResultRepository extends JpaRepository<ProcessedExamResult, String> {
+}
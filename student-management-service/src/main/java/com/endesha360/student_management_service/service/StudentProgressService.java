@@ -3,13 +3,18 @@ package com.endesha360.student_management_service.service;
 import com.endesha360.student_management_service.client.TestServiceClient;
 import com.endesha360.student_management_service.dto.ExamResultUpdateRequest;
 import com.endesha360.student_management_service.dto.StudentProgressWithResultsDto;
+import com.endesha360.student_management_service.entity.ProcessedExamResult;
 import com.endesha360.student_management_service.entity.StudentProgress;
+import com.endesha360.student_management_service.repository.ProcessedExamResultRepository;
 import com.endesha360.student_management_service.repository.StudentProgressRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -17,6 +22,9 @@ public class StudentProgressService {
     @Autowired
     private StudentProgressRepository progressRepository;
     
+    @Autowired
+    private ProcessedExamResultRepository processedExamResultRepository;
+    
     @Autowired
     private TestServiceClient testServiceClient;
 
@@ -68,6 +76,33 @@ public class StudentProgressService {
         progressRepository.save(progress);
     }
 
+    /**
+     * Applies a batch of exam results from test-service. Results whose eventId was already
+     * processed are skipped, so redelivered batches are harmless. Returns the number applied.
+     */
+    @Transactional
+    public int applyExamResults(List<ExamResultUpdateRequest> requests) {
+        Set<String> processed = processedExamResultRepository.findAllById(requests.stream()
+                        .map(ExamResultUpdateRequest::getEventId)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .stream()
+                .map(ProcessedExamResult::getEventId)
+                .collect(Collectors.toSet());
+
+        int applied = 0;
+        for (ExamResultUpdateRequest request : requests) {
+            String eventId = request.getEventId();
+            if (eventId != null && !processed.add(eventId)) continue;
+            updateProgressAfterExam(request);
+            if (eventId != null) {
+                processedExamResultRepository.save(new ProcessedExamResult(eventId, LocalDateTime.now()));
+            }
+            applied++;
+        }
+        return applied;
+    }
+
     public List<StudentProgressWithResultsDto> getComprehensiveProgress(Long studentId) {
         List<StudentProgress> progressList = progressRepository.findByStudentId(studentId);
         
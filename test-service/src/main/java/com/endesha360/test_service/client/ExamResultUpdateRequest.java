@@ -1,6 +1,7 @@
 package com.endesha360.test_service.client;
 
 public class ExamResultUpdateRequest {
+	public String eventId; // idempotency key: the attempt id
 	public Long studentId;
 	public Long courseId;
 	public String moduleName;
@@ -3,6 +3,8 @@ package com.endesha360.test_service.client;
 import lombok.Data;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
@@ -15,6 +17,16 @@ public interface QuestionClient {
                                       @RequestParam(required = false) Long levelId,
                                       @RequestParam(defaultValue = "200") int limit);
 
+    // Balanced exam from item statistics (difficulty mix, category coverage, exposure caps)
+    @GetMapping("/api/internal/questions/select")
+    List<QuestionInternalDto> select(@RequestParam(required = false) List<Long> categoryIds,
+                                     @RequestParam(required = false) Long levelId,
+                                     @RequestParam int count);
+
+    // batchId is the idempotency key: a batch re-sent after a lost response is applied once
+    @PostMapping("/api/internal/questions/stats")
+    void recordStats(@RequestParam String batchId, @RequestBody List<ItemStatsDelta> deltas);
+
     @Data
     class QuestionInternalDto {
         private Long id;
@@ -25,4 +37,15 @@ public interface QuestionClient {
         private List<String> options;
         private String correctAnswer;
     }
+
+    // Per-question response totals over a batch of finalized attempts
+    @Data
+    class ItemStatsDelta {
+        private Long questionId;
+        private long responses;
+        private long correct;
+        private double scoreSum;
+        private double scoreSqSum;
+        private double correctScoreSum;
+    }
 }
@@ -4,8 +4,14 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "student-management-service", url = "http://localhost:8084")
+import java.util.List;
+
+@FeignClient(name = "student-management-service")
 public interface StudentProgressClient {
 	@PostMapping("/api/student-progress/update-after-exam")
 	void updateProgressAfterExam(@RequestBody ExamResultUpdateRequest request);
+
+	// Results carrying an already-processed eventId are skipped downstream
+	@PostMapping("/api/student-progress/update-after-exam/batch")
+	void updateProgressAfterExams(@RequestBody List<ExamResultUpdateRequest> requests);
 }
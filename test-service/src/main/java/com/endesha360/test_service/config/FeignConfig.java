@@ -1,8 +1,10 @@
 package com.endesha360.test_service.config;
 
+import com.endesha360.test_service.service.JwtTokenService;
 import feign.RequestInterceptor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,8 +17,13 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.Set;
+
 @Configuration
 public class FeignConfig {
+        @Autowired
+        private JwtTokenService jwtTokenService;
+
         @Bean
         public RequestInterceptor requestInterceptor() {
             return new RequestInterceptor() {
@@ -34,7 +41,11 @@ public class FeignConfig {
                     }
                     if (StringUtils.hasText(jwt)) {
                         template.header("Authorization", "Bearer " + jwt);
-                        logger.info("Forwarding JWT in Feign: {}", jwt);
+                        logger.debug("Forwarding caller JWT in Feign request to {}", template.url());
+                    } else if (requestAttributes == null) {
+                        // Background job (e.g. pool refresh): authenticate as the service itself
+                        template.header("Authorization", "Bearer " + jwtTokenService.generateToken(
+                                "test-service", null, null, Set.of("SERVICE"), Set.of()));
                     } else {
                         logger.warn("No JWT found in HTTP request to forward in Feign");
                     }
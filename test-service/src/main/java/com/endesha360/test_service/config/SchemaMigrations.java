@@ -0,0 +1,69 @@
+package com.endesha360.test_service.config;
+
+import com.endesha360.test_service.repository.TestAttemptRepository;
+import com.endesha360.test_service.service.ActiveAttemptRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Idempotent data/schema fixes that ddl-auto=update cannot express.
+ * Runs after Hibernate has created or updated the tables.
+ */
+@Component
+public class SchemaMigrations implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrations.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestAttemptRepository attemptRepo;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        logger.info("Applying test-service schema migrations...");
+
+        alignAttemptQuestionSequence();
+        enforceOneLiveAttemptPerStudent();
+        indexUnreportedAttempts();
+
+        logger.info("Schema migrations completed.");
+    }
+
+    // attempt_question ids used to come from an IDENTITY column; start the pooled sequence past them
+    private void alignAttemptQuestionSequence() {
+        Long value = jdbcTemplate.queryForObject(
+                "SELECT setval('attempt_question_seq', GREATEST(" +
+                "(SELECT COALESCE(max(id), 1) FROM attempt_question), " +
+                "(SELECT last_value FROM attempt_question_seq)))", Long.class);
+        logger.info("attempt_question_seq aligned at {}", value);
+    }
+
+    // Older data may hold several live attempts per student: finalize all but the newest, then enforce one
+    private void enforceOneLiveAttemptPerStudent() {
+        List<String> extra = jdbcTemplate.queryForList(
+                "SELECT id FROM (SELECT id, row_number() OVER (PARTITION BY student_id ORDER BY started_at DESC) AS rn " +
+                "FROM test_attempt WHERE status IN ('CREATED', 'ACTIVE')) live WHERE rn > 1", String.class);
+        if (!extra.isEmpty()) {
+            logger.info("Expired {} duplicate live attempts", attemptRepo.expireAndScore(extra));
+        }
+        jdbcTemplate.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + ActiveAttemptRegistry.UNIQUE_INDEX +
+                " ON test_attempt (student_id) WHERE status IN ('CREATED', 'ACTIVE')");
+    }
+
+    // ItemStatsReporter polls finalized attempts not yet reported; the partial index stays small
+    private void indexUnreportedAttempts() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_test_attempt_stats_pending ON test_attempt (ends_at) " +
+                "WHERE stats_reported IS NOT TRUE AND status IN ('SUBMITTED', 'EXPIRED')");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_test_attempt_stats_batch ON test_attempt (stats_batch_id) " +
+                "WHERE stats_batch_id IS NOT NULL AND stats_reported IS NOT TRUE");
+    }
+}
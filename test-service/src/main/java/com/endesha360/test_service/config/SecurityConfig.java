@@ -27,6 +27,8 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                // Pool refresh reloads every instance's cache: only questions-service (SERVICE token) may trigger it
+                .requestMatchers("/api/internal/question-pools/**").hasRole("SERVICE")
                 .requestMatchers("/api/**").authenticated()
                 .anyRequest().permitAll()
             )
@@ -0,0 +1,21 @@
+package com.endesha360.test_service.controller;
+
+import com.endesha360.test_service.service.QuestionPoolCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Change signal from questions-service: reload cached pools for the affected category/level
+@RestController
+@RequestMapping("/api/internal/question-pools")
+public class QuestionPoolController {
+
+    @Autowired private QuestionPoolCache questionPoolCache;
+
+    @PostMapping("/refresh")
+    public Map<String, Long> refresh(@RequestParam(required = false) Long categoryId,
+                                     @RequestParam(required = false) Long levelId) {
+        return questionPoolCache.refresh(categoryId, levelId);
+    }
+}
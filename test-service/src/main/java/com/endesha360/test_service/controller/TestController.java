@@ -28,6 +28,14 @@ public class TestController {
         return testService.submit(attemptId, req, http.getRemoteAddr());
     }
 
+    // Autosave one answer mid-exam; rapid repeats are coalesced server-side
+    @PatchMapping("/{attemptId}/answers/{index}")
+    public void saveAnswer(@PathVariable String attemptId,
+                           @PathVariable int index,
+                           @RequestBody AnswerSaveRequest req) {
+        testService.saveAnswer(attemptId, index, req);
+    }
+
     // type: TAB_SWITCH | FOCUS_LOSS | FULLSCREEN_EXIT
     @PostMapping("/{attemptId}/event/{type}")
     public void event(@PathVariable String attemptId, @PathVariable String type) {
@@ -39,10 +47,23 @@ public class TestController {
         return testService.getStudentTestResults(studentId);
     }
 
+    @GetMapping("/results/student/{studentId}/page")
+    public TestResultPage getStudentTestResultPage(@PathVariable Long studentId,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        return testService.getStudentTestResultPage(studentId, cursor, size);
+    }
+
     @GetMapping("/results/{attemptId}")
     public ResponseEntity<TestResultDto> getTestResult(@PathVariable String attemptId) {
         return testService.getTestResult(attemptId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Malformed client input (e.g. a tampered results cursor) is a 400, not a 500
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
 }
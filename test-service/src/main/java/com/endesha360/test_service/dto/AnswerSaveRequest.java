@@ -0,0 +1,9 @@
+package com.endesha360.test_service.dto;
+
+import lombok.Data;
+
+@Data
+public class AnswerSaveRequest {
+    private String selectedOption;  // null clears the selection
+    private Boolean flagged;        // optional, null keeps the current flag
+}
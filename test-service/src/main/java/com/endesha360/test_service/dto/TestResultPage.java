@@ -0,0 +1,12 @@
+package com.endesha360.test_service.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data @Builder
+public class TestResultPage {
+    private List<TestResultDto> results;
+    private String nextCursor; // null when there are no older results
+}
@@ -6,8 +6,13 @@ import lombok.*;
 import java.util.List;
 
 @Entity @Data @NoArgsConstructor @AllArgsConstructor @Builder
+// Autosave addresses a single row by (attempt, position in exam)
+@Table(indexes = @Index(name = "idx_attempt_question_attempt_index", columnList = "attempt_id, index_in_exam"))
 public class AttemptQuestion {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (not IDENTITY) so snapshot inserts can be JDBC-batched
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attempt_question_seq")
+    @SequenceGenerator(name = "attempt_question_seq", sequenceName = "attempt_question_seq", allocationSize = 50)
     private Long id;
 
     // For audit/reference
@@ -35,6 +40,17 @@ public class AttemptQuestion {
 
     private Integer indexInExam;
 
+    // Compact snapshot (app.exams.snapshot.mode=COMPACT): text, options and answer live in the
+    // referenced QuestionVersion; the copied fields above stay null
+    @Column(length = 64)
+    private String questionVersion;
+
+    // optionPermutation[i] = index (unsigned byte) into the version's options delivered at position i
+    private byte[] optionPermutation;
+
+    // Selected option as an index into the version's options
+    private Short selectedIndex;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "attempt_id")
     private TestAttempt attempt;
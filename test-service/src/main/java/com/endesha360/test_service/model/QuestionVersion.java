@@ -0,0 +1,31 @@
+package com.endesha360.test_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Immutable copy of a question as delivered in exams, keyed by the SHA-256 of its content.
+ * Compact attempt snapshots reference it instead of copying text and options per attempt.
+ */
+@Entity @Immutable @Data @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "question_version")
+public class QuestionVersion {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    private Long questionId;
+
+    @Column(columnDefinition = "text")
+    private String questionText;
+
+    private String imageUrl;
+
+    // Options in question-bank order; attempt permutations index into this array
+    @Column(columnDefinition = "text[]")
+    private String[] options;
+
+    // Server-only answer (NEVER returned to client)
+    private Integer correctIndex;
+}
@@ -0,0 +1,43 @@
+package com.endesha360.test_service.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * Exam result waiting to be propagated to student-management-service.
+ * Written in the submit transaction; delivered by ResultOutboxDispatcher with retry/backoff.
+ */
+@Entity @Data @NoArgsConstructor @AllArgsConstructor @Builder
+@Table(name = "result_outbox", indexes = {
+        @Index(name = "idx_result_outbox_status_next", columnList = "status, next_attempt_at")
+})
+public class ResultOutboxEvent {
+    @Id @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    // Idempotency key sent downstream as eventId
+    @Column(unique = true, nullable = false)
+    private String attemptId;
+
+    private Long studentId;
+    private Long courseId;
+    private String moduleName;
+    private Double score;
+    private Boolean passed;
+    private String notes;
+
+    @Enumerated(EnumType.STRING)
+    private Status status; // PENDING, SENT, DEAD
+
+    private Integer deliveryAttempts;
+    private Instant nextAttemptAt;
+    private Instant createdAt;
+    private Instant sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public enum Status { PENDING, SENT, DEAD }
+}
@@ -2,11 +2,19 @@ package com.endesha360.test_service.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.Instant;
 import java.util.List;
 
 @Entity @Data @NoArgsConstructor @AllArgsConstructor @Builder
+@DynamicUpdate // integrity counters are incremented in SQL by IntegrityEventBuffer; never overwrite them
+@Table(indexes = {
+        // Expiry sweeper scans ACTIVE attempts by deadline
+        @Index(name = "idx_test_attempt_status_ends_at", columnList = "status, ends_at"),
+        // Result history pages by (startedAt, id) per student
+        @Index(name = "idx_test_attempt_student_started", columnList = "student_id, started_at, id")
+})
 public class TestAttempt {
     @Id @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
@@ -28,7 +36,13 @@ public class TestAttempt {
     private Integer focusLosses;
     private Integer fullscreenExits;
 
-    @OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Set once this attempt's responses have been sent to questions-service item statistics
+    private Boolean statsReported;
+    // Report batch (idempotency key) and lease of a reporter currently sending it; see ItemStatsReporter
+    private String statsBatchId;
+    private Instant statsLeaseUntil;
+
+    @OneToMany(mappedBy = "attempt", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<AttemptQuestion> questions;
 
     public enum Status { CREATED, ACTIVE, SUBMITTED, EXPIRED }
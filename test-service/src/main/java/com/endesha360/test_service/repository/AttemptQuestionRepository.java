@@ -2,6 +2,17 @@ package com.endesha360.test_service.repository;
 
 import com.endesha360.test_service.model.AttemptQuestion;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface AttemptQuestionRepository extends JpaRepository<AttemptQuestion, Long> {}
+public interface AttemptQuestionRepository extends JpaRepository<AttemptQuestion, Long> {
 
+    // Same rule as TestAttemptRepository.expireAndScore, for a single attempt
+    @Query(value = """
+            SELECT count(*) FROM attempt_question aq
+              LEFT JOIN question_version qv ON qv.hash = aq.question_version
+             WHERE aq.attempt_id = :attemptId
+               AND (aq.selected_option = aq.correct_answer OR aq.selected_index = qv.correct_index)
+            """, nativeQuery = true)
+    int countCorrect(@Param("attemptId") String attemptId);
+}
@@ -0,0 +1,6 @@
+package com.endesha360.test_service.repository;
+
+import com.endesha360.test_service.model.QuestionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface QuestionVersionRepository extends JpaRepository<QuestionVersion, String> {}
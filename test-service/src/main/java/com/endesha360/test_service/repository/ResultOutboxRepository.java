@@ -0,0 +1,27 @@
+package com.endesha360.test_service.repository;
+
+import com.endesha360.test_service.model.ResultOutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ResultOutboxRepository extends JpaRepository<ResultOutboxEvent, String> {
+
+    boolean existsByAttemptId(String attemptId);
+
+    // SKIP LOCKED lets several instances claim disjoint batches
+    @Query(value = "SELECT * FROM result_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<ResultOutboxEvent> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE ResultOutboxEvent e SET e.status = :status, e.sentAt = :now, e.lastError = null WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<String> ids,
+                 @Param("now") Instant now,
+                 @Param("status") ResultOutboxEvent.Status status);
+}
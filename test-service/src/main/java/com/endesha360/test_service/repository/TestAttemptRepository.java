@@ -1,8 +1,14 @@
 package com.endesha360.test_service.repository;
 
 import com.endesha360.test_service.model.TestAttempt;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -13,5 +19,58 @@ public interface TestAttemptRepository extends JpaRepository<TestAttempt, String
     List<TestAttempt> findByStudentIdAndStatusInOrderByStartedAtDesc(Long studentId, Collection<TestAttempt.Status> statuses);
     
     List<TestAttempt> findByStudentIdOrderByStartedAtDesc(Long studentId);
-}
 
+    List<TestAttempt> findByStatusIn(Collection<TestAttempt.Status> statuses);
+
+    boolean existsByIdAndStatusIn(String id, Collection<TestAttempt.Status> statuses);
+
+    @Query("SELECT a.ipAddress FROM TestAttempt a WHERE a.id = :id")
+    Optional<String> findIpAddressById(@Param("id") String id);
+
+    String RESULT_COLUMNS = "a.id AS id, a.studentId AS studentId, a.startedAt AS startedAt, a.endsAt AS endsAt, " +
+            "a.durationSeconds AS durationSeconds, a.totalQuestions AS totalQuestions, a.score AS score, " +
+            "a.status AS status, a.tabSwitches AS tabSwitches, a.focusLosses AS focusLosses, " +
+            "a.fullscreenExits AS fullscreenExits";
+
+    @Query("SELECT " + RESULT_COLUMNS + " FROM TestAttempt a WHERE a.id = :id AND a.status IN :statuses")
+    Optional<TestResultView> findResultById(@Param("id") String id,
+                                            @Param("statuses") Collection<TestAttempt.Status> statuses);
+
+    // First page of a student's history, newest first (idx_test_attempt_student_started)
+    @Query("SELECT " + RESULT_COLUMNS + " FROM TestAttempt a WHERE a.studentId = :studentId AND a.status IN :statuses " +
+           "ORDER BY a.startedAt DESC, a.id DESC")
+    List<TestResultView> findResults(@Param("studentId") Long studentId,
+                                     @Param("statuses") Collection<TestAttempt.Status> statuses,
+                                     Pageable pageable);
+
+    // Next page: keyset on (startedAt, id) strictly after the cursor
+    @Query("SELECT " + RESULT_COLUMNS + " FROM TestAttempt a WHERE a.studentId = :studentId AND a.status IN :statuses " +
+           "AND (a.startedAt < :startedAt OR (a.startedAt = :startedAt AND a.id < :id)) " +
+           "ORDER BY a.startedAt DESC, a.id DESC")
+    List<TestResultView> findResultsBefore(@Param("studentId") Long studentId,
+                                           @Param("statuses") Collection<TestAttempt.Status> statuses,
+                                           @Param("startedAt") Instant startedAt,
+                                           @Param("id") String id,
+                                           Pageable pageable);
+
+    // Ids only: served from idx_test_attempt_status_ends_at, never hydrates questions
+    @Query("SELECT a.id FROM TestAttempt a WHERE a.status = :status AND a.endsAt < :cutoff ORDER BY a.endsAt")
+    List<String> findIdsByStatusAndEndsAtBefore(@Param("status") TestAttempt.Status status,
+                                                @Param("cutoff") Instant cutoff,
+                                                Pageable pageable);
+
+    // Scores from persisted selections in one statement (unanswered = wrong); covers full and compact snapshots
+    @Modifying
+    @Transactional
+    @Query(value = """
+            UPDATE test_attempt a
+               SET status = 'EXPIRED',
+                   score = (SELECT count(*) FROM attempt_question aq
+                              LEFT JOIN question_version qv ON qv.hash = aq.question_version
+                             WHERE aq.attempt_id = a.id
+                               AND (aq.selected_option = aq.correct_answer
+                                    OR aq.selected_index = qv.correct_index))
+             WHERE a.id IN (:ids) AND a.status IN ('CREATED', 'ACTIVE')
+            """, nativeQuery = true)
+    int expireAndScore(@Param("ids") Collection<String> ids);
+}
@@ -0,0 +1,20 @@
+package com.endesha360.test_service.repository;
+
+import com.endesha360.test_service.model.TestAttempt;
+
+import java.time.Instant;
+
+// Result-history projection: attempt columns only, never touches AttemptQuestion
+public interface TestResultView {
+    String getId();
+    Long getStudentId();
+    Instant getStartedAt();
+    Instant getEndsAt();
+    Integer getDurationSeconds();
+    Integer getTotalQuestions();
+    Integer getScore();
+    TestAttempt.Status getStatus();
+    Integer getTabSwitches();
+    Integer getFocusLosses();
+    Integer getFullscreenExits();
+}
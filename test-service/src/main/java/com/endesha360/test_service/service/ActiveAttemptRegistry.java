@@ -0,0 +1,120 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.model.TestAttempt;
+import com.endesha360.test_service.repository.TestAttemptRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One live attempt per student. A local map rejects duplicate starts without a query; the
+ * partial unique index {@value #UNIQUE_INDEX} (see SchemaMigrations) is the source of truth
+ * across instances and restarts, so concurrent starts cannot both commit.
+ */
+@Service
+public class ActiveAttemptRegistry {
+
+    public static final String UNIQUE_INDEX = "uq_test_attempt_student_live";
+    public static final List<TestAttempt.Status> LIVE_STATUSES =
+            List.of(TestAttempt.Status.CREATED, TestAttempt.Status.ACTIVE);
+
+    @Autowired private TestAttemptRepository attemptRepo;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<Long, Slot> slotsByStudent = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> studentByAttempt = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerGauge() {
+        Gauge.builder("exam.attempts.live", slotsByStudent, ConcurrentHashMap::size)
+                .description("Exam attempts currently in progress on this instance")
+                .tag("service", "test-service")
+                .register(meterRegistry);
+    }
+
+    // Runs after SchemaMigrations, so at most one live attempt per student exists
+    @EventListener(ApplicationReadyEvent.class)
+    void loadLiveAttempts() {
+        for (TestAttempt a : attemptRepo.findByStatusIn(LIVE_STATUSES)) {
+            Slot slot = new Slot();
+            if (slotsByStudent.putIfAbsent(a.getStudentId(), slot) == null) bind(slot, a);
+        }
+    }
+
+    /** Claims the student's slot or throws; the slot is freed again if the surrounding transaction rolls back. */
+    public Slot reserve(Long studentId) {
+        Slot slot = new Slot();
+        Slot held = slotsByStudent.putIfAbsent(studentId, slot);
+        if (held != null) {
+            // Only a duplicate pays for a lookup: the holder may have finished on another instance
+            if (held.attemptId == null || attemptRepo.existsByIdAndStatusIn(held.attemptId, LIVE_STATUSES)
+                    || !slotsByStudent.replace(studentId, held, slot)) {
+                throw new RuntimeException("Active attempt exists for this student");
+            }
+            studentByAttempt.remove(held.attemptId);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) free(studentId, slot);
+                }
+            });
+        }
+        return slot;
+    }
+
+    public void bind(Slot slot, TestAttempt attempt) {
+        slot.endsAt = attempt.getEndsAt();
+        slot.attemptId = attempt.getId();
+        studentByAttempt.put(attempt.getId(), attempt.getStudentId());
+    }
+
+    /** Frees the slots of finalized (submitted or expired) attempts. */
+    public void release(Collection<String> attemptIds) {
+        for (String attemptId : attemptIds) {
+            Long studentId = studentByAttempt.remove(attemptId);
+            if (studentId != null) {
+                slotsByStudent.computeIfPresent(studentId, (k, s) -> attemptId.equals(s.attemptId) ? null : s);
+            }
+        }
+    }
+
+    /** Drops slots past their deadline, e.g. attempts submitted on another instance. */
+    public void pruneEnded(Instant cutoff) {
+        slotsByStudent.forEach((studentId, slot) -> {
+            if (slot.endsAt != null && slot.endsAt.isBefore(cutoff) && slotsByStudent.remove(studentId, slot)) {
+                studentByAttempt.remove(slot.attemptId);
+            }
+        });
+    }
+
+    public boolean isDuplicate(DataIntegrityViolationException e) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.contains(UNIQUE_INDEX);
+    }
+
+    private void free(Long studentId, Slot slot) {
+        if (slotsByStudent.remove(studentId, slot) && slot.attemptId != null) {
+            studentByAttempt.remove(slot.attemptId);
+        }
+    }
+
+    public static final class Slot {
+        private volatile String attemptId; // null while the start is in flight
+        private volatile Instant endsAt;
+    }
+}
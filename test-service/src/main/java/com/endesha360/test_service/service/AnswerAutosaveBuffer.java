@@ -0,0 +1,151 @@
+package com.endesha360.test_service.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mid-exam answer autosave. Saves are coalesced in memory per (attempt, question index), so a
+ * student changing their mind five times costs one write; the latest selections are flushed as
+ * single-row updates in one JDBC batch. Submit and expiry force a flush before scoring.
+ * An attempt's answers are only touched inside {@code pending.compute} and taken out with an
+ * atomic remove, so a save is either in the taken batch or in a fresh entry, never lost.
+ * <p>
+ * Saves buffered on another instance are not visible to submit: the answers sent with the submit
+ * request are authoritative, and saves that reach the database after the attempt was finalized
+ * are dropped by the status guard.
+ */
+@Service
+public class AnswerAutosaveBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(AnswerAutosaveBuffer.class);
+
+    // Full snapshots store the text; compact ones resolve the index in their question version.
+    // Finalized attempts keep their answers: late saves (e.g. buffered on another instance) match no row
+    private static final String FLUSH_SQL = "UPDATE attempt_question aq " +
+            "SET selected_option = CASE WHEN aq.question_version IS NULL THEN CAST(? AS text) END, " +
+            "selected_index = (SELECT array_position(qv.options, CAST(? AS text)) - 1 " +
+            "FROM question_version qv WHERE qv.hash = aq.question_version), " +
+            "flagged = COALESCE(?, aq.flagged) " +
+            "WHERE aq.attempt_id = ? AND aq.index_in_exam = ? " +
+            "AND EXISTS (SELECT 1 FROM test_attempt t WHERE t.id = aq.attempt_id AND t.status = 'ACTIVE')";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AttemptDeadlines attemptDeadlines;
+
+    @Value("${app.exams.autosave.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<String, Map<Integer, PendingAnswer>> pending = new ConcurrentHashMap<>();
+
+    /** Buffers the latest selection for one question; null selectedOption clears it, null flagged keeps it. */
+    public void save(String attemptId, int index, String selectedOption, Boolean flagged) {
+        AttemptDeadlines.Deadline deadline = attemptDeadlines.requireActive(attemptId);
+        if (index < 0 || index >= deadline.totalQuestions()) {
+            throw new RuntimeException("Question index out of range");
+        }
+        pending.compute(attemptId, (id, answers) -> {
+            Map<Integer, PendingAnswer> m = answers != null ? answers : new HashMap<>();
+            m.merge(index, new PendingAnswer(selectedOption, flagged), PendingAnswer::then);
+            return m;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.exams.autosave.flush-ms:1000}")
+    public void flush() {
+        try {
+            write(take(pending.keySet()));
+        } catch (Exception e) {
+            // Answers were requeued; the next flush retries them
+            logger.warn("Failed to flush autosaved answers: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes everything buffered for these attempts (submit/expiry). Call it outside any transaction:
+     * a failure is rethrown after requeueing, so the caller fails instead of scoring without them.
+     */
+    public void flush(Collection<String> attemptIds) {
+        write(take(attemptIds));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private List<Row> take(Collection<String> attemptIds) {
+        List<Row> rows = new ArrayList<>();
+        for (String attemptId : attemptIds) {
+            Map<Integer, PendingAnswer> answers = pending.remove(attemptId);
+            if (answers != null) answers.forEach((index, answer) -> rows.add(new Row(attemptId, index, answer)));
+        }
+        return rows;
+    }
+
+    private void write(List<Row> rows) {
+        if (rows.isEmpty()) return;
+        int[][] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(FLUSH_SQL, rows, batchSize, (ps, row) -> {
+                ps.setString(1, row.answer().selectedOption());
+                ps.setString(2, row.answer().selectedOption());
+                ps.setObject(3, row.answer().flagged(), Types.BOOLEAN);
+                ps.setString(4, row.attemptId());
+                ps.setInt(5, row.index());
+            });
+        } catch (RuntimeException e) {
+            // Requeue unless a newer save already replaced the value
+            rows.forEach(this::requeue);
+            throw e;
+        }
+        forgetFinalized(rows, counts);
+    }
+
+    // An unmatched row means the attempt was finalized (possibly on another instance): stop
+    // accepting saves for it here instead of buffering them until its deadline
+    private void forgetFinalized(List<Row> rows, int[][] counts) {
+        Set<String> finalized = new HashSet<>();
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) finalized.add(rows.get(i).attemptId());
+                i++;
+            }
+        }
+        if (finalized.isEmpty()) return;
+        attemptDeadlines.forget(finalized);
+        finalized.forEach(pending::remove);
+    }
+
+    private void requeue(Row row) {
+        pending.compute(row.attemptId(), (id, answers) -> {
+            Map<Integer, PendingAnswer> m = answers != null ? answers : new HashMap<>();
+            m.putIfAbsent(row.index(), row.answer());
+            return m;
+        });
+    }
+
+    private record PendingAnswer(String selectedOption, Boolean flagged) {
+        // Later save wins; a flag toggle is kept unless the later save sets it again
+        PendingAnswer then(PendingAnswer later) {
+            return new PendingAnswer(later.selectedOption(), later.flagged() != null ? later.flagged() : flagged);
+        }
+    }
+
+    private record Row(String attemptId, int index, PendingAnswer answer) {}
+}
@@ -0,0 +1,61 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.model.TestAttempt;
+import com.endesha360.test_service.repository.TestAttemptRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached deadline of attempts that were ACTIVE when first seen, for the per-event and per-answer
+ * write paths. Loaded once per attempt; submit/expiry forget it. An attempt finalized on another
+ * instance stays cached until its deadline, so buffered writers must still guard on status in SQL.
+ */
+@Service
+public class AttemptDeadlines {
+
+    @Autowired private TestAttemptRepository attemptRepo;
+
+    private final ConcurrentHashMap<String, Deadline> deadlines = new ConcurrentHashMap<>();
+
+    public record Deadline(Instant endsAt, int totalQuestions) {}
+
+    /** Deadline of a known, ACTIVE attempt that has not ended yet; throws otherwise. */
+    public Deadline requireActive(String attemptId) {
+        Deadline deadline = deadlines.get(attemptId);
+        if (deadline == null) {
+            // Loaded outside the map so a slow query never holds a bin lock; a duplicate load is harmless
+            deadline = load(attemptId);
+            deadlines.putIfAbsent(attemptId, deadline);
+        }
+        if (Instant.now().isAfter(deadline.endsAt())) {
+            throw new RuntimeException("Attempt has ended");
+        }
+        return deadline;
+    }
+
+    public boolean isTracked(String attemptId) {
+        return deadlines.containsKey(attemptId);
+    }
+
+    public void forget(Collection<String> attemptIds) {
+        attemptIds.forEach(deadlines::remove);
+    }
+
+    /** Drops attempts past their deadline, including ones finalized by another instance. */
+    public void pruneEnded(Instant cutoff) {
+        deadlines.values().removeIf(d -> d.endsAt().isBefore(cutoff));
+    }
+
+    private Deadline load(String attemptId) {
+        TestAttempt a = attemptRepo.findById(attemptId)
+                .orElseThrow(() -> new RuntimeException("Attempt not found"));
+        if (a.getStatus() != TestAttempt.Status.ACTIVE) {
+            throw new RuntimeException("Attempt is not active");
+        }
+        return new Deadline(a.getEndsAt(), a.getTotalQuestions());
+    }
+}
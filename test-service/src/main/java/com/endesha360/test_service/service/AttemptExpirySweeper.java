@@ -0,0 +1,92 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.model.TestAttempt;
+import com.endesha360.test_service.repository.TestAttemptRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Finalizes ACTIVE attempts whose deadline has passed.
+ * Pulls expired ids in bounded pages and scores each page with a single aggregate update,
+ * so a sweep never loads attempts or their question snapshots.
+ */
+@Service
+public class AttemptExpirySweeper {
+    private static final Logger logger = LoggerFactory.getLogger(AttemptExpirySweeper.class);
+
+    @Autowired private TestAttemptRepository attemptRepo;
+    @Autowired private IntegrityEventBuffer integrityEventBuffer;
+    @Autowired private AnswerAutosaveBuffer answerAutosaveBuffer;
+    @Autowired private ActiveAttemptRegistry activeAttemptRegistry;
+    @Autowired private AttemptDeadlines attemptDeadlines;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Value("${app.exams.sweep.batch-size:500}")
+    private int batchSize;
+
+    private Timer sweepTimer;
+    private DistributionSummary batchSizeSummary;
+    private Counter expiredCounter;
+
+    @PostConstruct
+    void registerMeters() {
+        sweepTimer = Timer.builder("exam.sweep.duration")
+                .description("Time spent finalizing expired attempts per sweep")
+                .tag("service", "test-service")
+                .register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("exam.sweep.batch.size")
+                .description("Expired attempts finalized per batch")
+                .tag("service", "test-service")
+                .register(meterRegistry);
+        expiredCounter = Counter.builder("exam.sweep.expired")
+                .description("Number of attempts finalized as EXPIRED")
+                .tag("service", "test-service")
+                .register(meterRegistry);
+    }
+
+    // Auto-sweeper: finalize expired attempts (unanswered = wrong)
+    @Scheduled(fixedDelayString = "${app.exams.sweep.interval-ms:60000}")
+    public void sweepExpired() {
+        sweepTimer.record(this::sweepOnce);
+    }
+
+    private void sweepOnce() {
+        Instant cutoff = Instant.now();
+        Pageable firstPage = PageRequest.of(0, batchSize);
+        int total = 0;
+        List<String> ids;
+        do {
+            // Finalized rows drop out of the ACTIVE filter, so the first page always holds the next batch
+            ids = attemptRepo.findIdsByStatusAndEndsAtBefore(TestAttempt.Status.ACTIVE, cutoff, firstPage);
+            if (ids.isEmpty()) break;
+            integrityEventBuffer.flush(ids);
+            answerAutosaveBuffer.flush(ids); // score includes answers saved just before the deadline
+            int expired = attemptRepo.expireAndScore(ids);
+            activeAttemptRegistry.release(ids);
+            attemptDeadlines.forget(ids);
+            batchSizeSummary.record(expired);
+            expiredCounter.increment(expired);
+            total += expired;
+        } while (ids.size() == batchSize);
+        activeAttemptRegistry.pruneEnded(cutoff);
+        attemptDeadlines.pruneEnded(cutoff);
+
+        if (total > 0) {
+            logger.info("Expired {} attempts", total);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.endesha360.test_service.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind buffer for exam integrity events (TAB_SWITCH | FOCUS_LOSS | FULLSCREEN_EXIT).
+ * Events only bump in-memory counters; deltas are flushed in JDBC batches as relative
+ * {@code SET x = x + n} updates, so bursts never load or lock the attempt per event.
+ * Each attempt's counters are striped {@link LongAdder}s that stay in the map while the attempt is
+ * live; a flush drains them with {@code sumThenReset}, so an event racing it lands in this flush
+ * or the next one and recording never takes a lock.
+ */
+@Service
+public class IntegrityEventBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(IntegrityEventBuffer.class);
+
+    // Finalized attempts keep their counts: late events (e.g. buffered on another instance) are dropped
+    private static final String FLUSH_SQL = "UPDATE test_attempt SET tab_switches = tab_switches + ?, " +
+            "focus_losses = focus_losses + ?, fullscreen_exits = fullscreen_exits + ? " +
+            "WHERE id = ? AND status = 'ACTIVE'";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AttemptDeadlines attemptDeadlines;
+
+    @Value("${app.exams.events.batch-size:500}")
+    private int batchSize;
+
+    private final ConcurrentHashMap<String, Counters> pending = new ConcurrentHashMap<>();
+
+    /** Buffers one event; callers validate the attempt first (see AttemptDeadlines). */
+    public void record(String attemptId, String type) {
+        LongAdder counter = switch (type) {
+            case "TAB_SWITCH" -> counters(attemptId).tabSwitches;
+            case "FOCUS_LOSS" -> counters(attemptId).focusLosses;
+            case "FULLSCREEN_EXIT" -> counters(attemptId).fullscreenExits;
+            default -> null;
+        };
+        if (counter != null) counter.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${app.exams.events.flush-ms:2000}")
+    public void flush() {
+        // Attempts no longer tracked have ended or were finalized; late events for them are dropped anyway
+        pending.keySet().removeIf(id -> !attemptDeadlines.isTracked(id));
+        try {
+            write(drain(pending.keySet()));
+        } catch (Exception e) {
+            // Counts were put back; the next flush retries them
+            logger.warn("Failed to flush integrity deltas: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Forces pending counts for the given attempts to the database (submit/expiry) and stops
+     * tracking them. Call it outside any transaction: a failure is rethrown after the counts are
+     * put back, so the caller fails instead of finalizing without them.
+     */
+    public void flush(Collection<String> attemptIds) {
+        write(drain(attemptIds));
+        attemptIds.forEach(pending::remove);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private Counters counters(String attemptId) {
+        // get first: the common case never touches the bin lock
+        Counters c = pending.get(attemptId);
+        return c != null ? c : pending.computeIfAbsent(attemptId, id -> new Counters());
+    }
+
+    private List<Delta> drain(Collection<String> attemptIds) {
+        List<Delta> deltas = new ArrayList<>();
+        for (String id : attemptIds) {
+            Counters c = pending.get(id);
+            if (c == null) continue;
+            Delta d = new Delta(id, (int) c.tabSwitches.sumThenReset(), (int) c.focusLosses.sumThenReset(),
+                    (int) c.fullscreenExits.sumThenReset());
+            if (d.tabSwitches() + d.focusLosses() + d.fullscreenExits() > 0) deltas.add(d);
+        }
+        return deltas;
+    }
+
+    private void write(List<Delta> deltas) {
+        if (deltas.isEmpty()) return;
+        int[][] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, batchSize, (ps, d) -> {
+                ps.setInt(1, d.tabSwitches());
+                ps.setInt(2, d.focusLosses());
+                ps.setInt(3, d.fullscreenExits());
+                ps.setString(4, d.attemptId());
+            });
+        } catch (RuntimeException e) {
+            deltas.forEach(this::putBack);
+            throw e;
+        }
+        // No active attempt matched (finalized, possibly on another instance): stop tracking it
+        int i = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count == 0) pending.remove(deltas.get(i).attemptId());
+                i++;
+            }
+        }
+    }
+
+    private void putBack(Delta d) {
+        Counters c = counters(d.attemptId());
+        c.tabSwitches.add(d.tabSwitches());
+        c.focusLosses.add(d.focusLosses());
+        c.fullscreenExits.add(d.fullscreenExits());
+    }
+
+    private static final class Counters {
+        final LongAdder tabSwitches = new LongAdder();
+        final LongAdder focusLosses = new LongAdder();
+        final LongAdder fullscreenExits = new LongAdder();
+    }
+
+    private record Delta(String attemptId, int tabSwitches, int focusLosses, int fullscreenExits) {}
+}
@@ -0,0 +1,130 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.client.QuestionClient;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Feeds item calibration in questions-service. Finalized attempts are claimed in batches: a short
+ * transaction stamps them with a batch id and a lease, their responses are aggregated per question
+ * in SQL (responses, correct, attempt score moments) and posted outside any transaction, and a
+ * second short transaction marks them reported. A batch whose lease runs out before that (crash,
+ * failed post or commit) is re-sent whole under the same id, which questions-service applies once.
+ */
+@Service
+public class ItemStatsReporter {
+    private static final Logger logger = LoggerFactory.getLogger(ItemStatsReporter.class);
+
+    private static final String EXPIRED_BATCH_SQL = "SELECT stats_batch_id FROM test_attempt " +
+            "WHERE stats_batch_id IS NOT NULL AND stats_reported IS NOT TRUE AND stats_lease_until < ? " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED";
+
+    // Lease condition again: a reporter that re-leased the batch first leaves nothing to take over
+    private static final String RENEW_LEASE_SQL = "UPDATE test_attempt SET stats_lease_until = ? " +
+            "WHERE stats_batch_id = ? AND stats_reported IS NOT TRUE AND stats_lease_until < ?";
+
+    private static final String CLAIM_SQL = "UPDATE test_attempt SET stats_batch_id = ?, stats_lease_until = ? " +
+            "WHERE id IN (SELECT id FROM test_attempt " +
+            "WHERE stats_reported IS NOT TRUE AND stats_batch_id IS NULL AND status IN ('SUBMITTED', 'EXPIRED') " +
+            "ORDER BY ends_at LIMIT ? FOR UPDATE SKIP LOCKED)";
+
+    // Correctness follows AttemptQuestionRepository.countCorrect; score is the attempt's fraction correct
+    private static final String AGGREGATE_SQL = """
+            SELECT question_id, count(*) AS responses,
+                   sum(CASE WHEN correct THEN 1 ELSE 0 END) AS correct,
+                   sum(score) AS score_sum, sum(score * score) AS score_sq_sum,
+                   sum(CASE WHEN correct THEN score ELSE 0 END) AS correct_score_sum
+              FROM (SELECT aq.question_id,
+                           COALESCE(aq.selected_option = aq.correct_answer
+                                    OR aq.selected_index = qv.correct_index, false) AS correct,
+                           COALESCE(CAST(a.score AS double precision) / NULLIF(a.total_questions, 0), 0) AS score
+                      FROM test_attempt a
+                      JOIN attempt_question aq ON aq.attempt_id = a.id
+                      LEFT JOIN question_version qv ON qv.hash = aq.question_version
+                     WHERE a.stats_batch_id = ? AND a.stats_reported IS NOT TRUE) r
+             GROUP BY question_id
+            """;
+
+    private static final String MARK_SQL = "UPDATE test_attempt SET stats_reported = true, stats_lease_until = NULL " +
+            "WHERE stats_batch_id = ? AND stats_reported IS NOT TRUE";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private QuestionClient questionClient;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.exams.stats.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.exams.stats.lease-ms:120000}")
+    private long leaseMs;
+
+    private TransactionTemplate tx;
+
+    private record Claim(String batchId, int attempts, boolean retried) {}
+
+    @PostConstruct
+    void init() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${app.exams.stats.report-ms:60000}")
+    public void report() {
+        try {
+            Claim claim;
+            do {
+                claim = tx.execute(status -> claim());
+                if (claim == null) break;
+                send(claim);
+            } while (claim.retried() || claim.attempts() == batchSize);
+        } catch (Exception e) {
+            // The claimed batch keeps its id and is re-sent once its lease expires
+            logger.warn("Failed to report item statistics: {}", e.getMessage());
+        }
+    }
+
+    // Short transaction: an expired batch is taken over as is, otherwise a new one is stamped
+    private Claim claim() {
+        Timestamp now = Timestamp.from(Instant.now());
+        Timestamp leaseUntil = Timestamp.from(Instant.now().plusMillis(leaseMs));
+        List<String> expired = jdbcTemplate.queryForList(EXPIRED_BATCH_SQL, String.class, now);
+        if (!expired.isEmpty()) {
+            int attempts = jdbcTemplate.update(RENEW_LEASE_SQL, leaseUntil, expired.get(0), now);
+            if (attempts > 0) return new Claim(expired.get(0), attempts, true);
+        }
+        String batchId = UUID.randomUUID().toString();
+        int attempts = jdbcTemplate.update(CLAIM_SQL, batchId, leaseUntil, batchSize);
+        return attempts == 0 ? null : new Claim(batchId, attempts, false);
+    }
+
+    // HTTP call runs outside any transaction; finalized attempts never change, so a re-send aggregates the same deltas
+    private void send(Claim claim) {
+        List<QuestionClient.ItemStatsDelta> deltas = jdbcTemplate.query(AGGREGATE_SQL,
+                (rs, n) -> {
+                    QuestionClient.ItemStatsDelta d = new QuestionClient.ItemStatsDelta();
+                    d.setQuestionId(rs.getLong("question_id"));
+                    d.setResponses(rs.getLong("responses"));
+                    d.setCorrect(rs.getLong("correct"));
+                    d.setScoreSum(rs.getDouble("score_sum"));
+                    d.setScoreSqSum(rs.getDouble("score_sq_sum"));
+                    d.setCorrectScoreSum(rs.getDouble("correct_score_sum"));
+                    return d;
+                }, claim.batchId());
+        if (!deltas.isEmpty()) questionClient.recordStats(claim.batchId(), deltas);
+
+        tx.executeWithoutResult(status -> jdbcTemplate.update(MARK_SQL, claim.batchId()));
+        logger.debug("Reported item statistics for {} attempts ({} questions)", claim.attempts(), deltas.size());
+    }
+}
@@ -0,0 +1,140 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.client.QuestionClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local, versioned copy of the question pool per (category, level).
+ * Exam start samples from the in-memory snapshot; snapshots are reloaded in the background
+ * or on demand when questions-service reports a change.
+ */
+@Service
+public class QuestionPoolCache {
+    private static final Logger logger = LoggerFactory.getLogger(QuestionPoolCache.class);
+
+    @Autowired private QuestionClient questionClient;
+
+    @Value("${app.exams.pool.size:500}")
+    private int poolSize;
+
+    private final ConcurrentHashMap<PoolKey, QuestionPool> pools = new ConcurrentHashMap<>();
+    // First load per key; concurrent starts wait on the same call instead of holding a map bin lock over HTTP
+    private final ConcurrentHashMap<PoolKey, CompletableFuture<QuestionPool>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    /** Picks {@code count} distinct questions at random from the cached pool, loading it on first use. */
+    public List<QuestionClient.QuestionInternalDto> sample(Long categoryId, Long levelId, int count) {
+        PoolKey key = new PoolKey(categoryId, levelId);
+        QuestionPool pool = pools.get(key);
+        return (pool != null ? pool : loadOnce(key)).sample(count);
+    }
+
+    private QuestionPool loadOnce(PoolKey key) {
+        CompletableFuture<QuestionPool> created = new CompletableFuture<>();
+        CompletableFuture<QuestionPool> inFlight = loading.putIfAbsent(key, created);
+        if (inFlight != null) {
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            // Another load may have finished between the miss and the putIfAbsent
+            QuestionPool pool = pools.get(key);
+            if (pool == null) {
+                pool = load(key);
+                pools.put(key, pool);
+            }
+            created.complete(pool);
+            return pool;
+        } catch (RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, created);
+        }
+    }
+
+    /**
+     * Reloads pools matching the given filter (null matches any); pools spanning all categories or
+     * levels contain the changed ones, so they match too. Returns the new versions by key.
+     */
+    public Map<String, Long> refresh(Long categoryId, Long levelId) {
+        Map<String, Long> refreshed = new LinkedHashMap<>();
+        for (PoolKey key : pools.keySet()) {
+            if ((categoryId == null || key.categoryId() == null || categoryId.equals(key.categoryId()))
+                    && (levelId == null || key.levelId() == null || levelId.equals(key.levelId()))) {
+                QuestionPool pool = reload(key);
+                if (pool != null) refreshed.put(key.toString(), pool.version());
+            }
+        }
+        return refreshed;
+    }
+
+    @Scheduled(fixedDelayString = "${app.exams.pool.refresh-ms:300000}",
+               initialDelayString = "${app.exams.pool.refresh-ms:300000}")
+    public void refreshAll() {
+        pools.keySet().forEach(this::reload);
+    }
+
+    private QuestionPool reload(PoolKey key) {
+        try {
+            QuestionPool pool = load(key);
+            pools.put(key, pool);
+            return pool;
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            logger.warn("Failed to refresh question pool {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private QuestionPool load(PoolKey key) {
+        List<QuestionClient.QuestionInternalDto> questions =
+                questionClient.getPool(key.categoryId(), key.levelId(), poolSize);
+        if (questions.isEmpty()) throw new RuntimeException("Question pool is empty");
+        QuestionPool pool = new QuestionPool(List.copyOf(questions), versions.incrementAndGet(), Instant.now());
+        logger.info("Loaded question pool {} v{} ({} questions)", key, pool.version(), questions.size());
+        return pool;
+    }
+
+    record PoolKey(Long categoryId, Long levelId) {
+        @Override
+        public String toString() {
+            return "category=" + categoryId + ",level=" + levelId;
+        }
+    }
+
+    record QuestionPool(List<QuestionClient.QuestionInternalDto> questions, long version, Instant loadedAt) {
+
+        // Floyd's algorithm: k random draws over index space, no copy of the pool
+        List<QuestionClient.QuestionInternalDto> sample(int count) {
+            int n = questions.size();
+            int k = Math.min(Math.max(count, 0), n);
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+            Set<Integer> chosen = new HashSet<>(k * 2);
+            for (int j = n - k; j < n; j++) {
+                int t = rnd.nextInt(j + 1);
+                if (!chosen.add(t)) chosen.add(j);
+            }
+            List<QuestionClient.QuestionInternalDto> picked = new ArrayList<>(k);
+            for (int i : chosen) picked.add(questions.get(i));
+            Collections.shuffle(picked, rnd);
+            return picked;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.client.QuestionClient;
+import com.endesha360.test_service.model.QuestionVersion;
+import com.endesha360.test_service.repository.QuestionVersionRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Content-addressed store of question versions for compact attempt snapshots.
+ * Versions are immutable, so they are written once (idempotently) and cached by hash.
+ */
+@Service
+public class QuestionVersionStore {
+
+    private static final String INSERT_SQL = "INSERT INTO question_version " +
+            "(hash, question_id, question_text, image_url, options, correct_index) " +
+            "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT (hash) DO NOTHING";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private QuestionVersionRepository versionRepo;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.exams.snapshot.version-cache-size:10000}")
+    private int cacheSize;
+
+    private Map<String, QuestionVersion> cache;
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        // Access-ordered LRU: hot versions stay cached, so exam starts rarely take the REQUIRES_NEW insert path
+        cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QuestionVersion> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        // Versions commit on their own: a rolled-back exam start must not leave cached-but-missing hashes
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /** Returns the version of each question keyed by question id, storing versions not seen before. */
+    public Map<Long, QuestionVersion> ensureVersions(List<QuestionClient.QuestionInternalDto> questions) {
+        Map<Long, QuestionVersion> byQuestion = new HashMap<>();
+        List<QuestionVersion> unseen = new ArrayList<>();
+        for (QuestionClient.QuestionInternalDto q : questions) {
+            QuestionVersion version = toVersion(q);
+            QuestionVersion known = cached(version.getHash());
+            if (known == null) unseen.add(version);
+            byQuestion.put(q.getId(), known != null ? known : version);
+        }
+        if (!unseen.isEmpty()) {
+            // ON CONFLICT: the same content may already be stored by another exam start
+            requiresNew.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, unseen, unseen.size(), (ps, v) -> {
+                        ps.setString(1, v.getHash());
+                        ps.setLong(2, v.getQuestionId());
+                        ps.setString(3, v.getQuestionText());
+                        ps.setString(4, v.getImageUrl());
+                        ps.setArray(5, ps.getConnection().createArrayOf("text", v.getOptions()));
+                        ps.setInt(6, v.getCorrectIndex());
+                    }));
+            unseen.forEach(this::remember);
+        }
+        return byQuestion;
+    }
+
+    /** Resolves versions by hash, from cache first and then in one query. */
+    public Map<String, QuestionVersion> load(Collection<String> hashes) {
+        Map<String, QuestionVersion> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String hash : hashes) {
+            QuestionVersion v = cached(hash);
+            if (v != null) found.put(hash, v);
+            else missing.add(hash);
+        }
+        if (!missing.isEmpty()) {
+            for (QuestionVersion v : versionRepo.findAllById(missing)) {
+                remember(v);
+                found.put(v.getHash(), v);
+            }
+        }
+        return found;
+    }
+
+    private QuestionVersion cached(String hash) {
+        synchronized (cache) {
+            return cache.get(hash);
+        }
+    }
+
+    private void remember(QuestionVersion version) {
+        synchronized (cache) {
+            cache.put(version.getHash(), version);
+        }
+    }
+
+    private static QuestionVersion toVersion(QuestionClient.QuestionInternalDto q) {
+        String[] options = q.getOptions().toArray(new String[0]);
+        return QuestionVersion.builder()
+                .hash(hash(q, options))
+                .questionId(q.getId())
+                .questionText(q.getQuestionText())
+                .imageUrl(q.getImageUrl())
+                .options(options)
+                .correctIndex(Arrays.asList(options).indexOf(q.getCorrectAnswer()))
+                .build();
+    }
+
+    private static String hash(QuestionClient.QuestionInternalDto q, String[] options) {
+        StringBuilder content = new StringBuilder()
+                .append(q.getId()).append('\u0000')
+                .append(q.getQuestionText()).append('\u0000')
+                .append(q.getImageUrl()).append('\u0000')
+                .append(q.getCorrectAnswer());
+        for (String option : options) content.append('\u001f').append(option);
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
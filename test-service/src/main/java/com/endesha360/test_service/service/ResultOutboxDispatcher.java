@@ -0,0 +1,152 @@
+package com.endesha360.test_service.service;
+
+import com.endesha360.test_service.client.ExamResultUpdateRequest;
+import com.endesha360.test_service.client.StudentProgressClient;
+import com.endesha360.test_service.model.ResultOutboxEvent;
+import com.endesha360.test_service.model.TestAttempt;
+import com.endesha360.test_service.repository.ResultOutboxRepository;
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Transactional outbox for exam results. Submit only inserts a PENDING row; this dispatcher
+ * delivers due rows to student-management-service in batches, with exponential backoff and
+ * the attempt id as idempotency key. A rejected batch is split into single deliveries, so only
+ * results that keep failing on their own end up DEAD for inspection.
+ */
+@Service
+public class ResultOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(ResultOutboxDispatcher.class);
+
+    @Autowired private ResultOutboxRepository outboxRepo;
+    @Autowired private StudentProgressClient studentProgressClient;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @Value("${app.exams.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.exams.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.exams.outbox.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${app.exams.outbox.backoff-max-ms:900000}")
+    private long backoffMaxMs;
+
+    // Claimed rows are invisible to other dispatchers until the lease runs out
+    @Value("${app.exams.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    void init() {
+        tx = new TransactionTemplate(transactionManager);
+    }
+
+    /** Records the result of a finalized attempt; must run inside the finalizing transaction. */
+    public void enqueue(TestAttempt attempt) {
+        if (outboxRepo.existsByAttemptId(attempt.getId())) return;
+        Instant now = Instant.now();
+        outboxRepo.save(ResultOutboxEvent.builder()
+                .attemptId(attempt.getId())
+                .studentId(attempt.getStudentId())
+                .courseId(null) // not known to test-service yet
+                .moduleName("Exam")
+                .score((double) attempt.getScore())
+                .passed(attempt.getScore() != null && attempt.getScore() >= (attempt.getTotalQuestions() * 0.7)) // 70% pass
+                .notes("Exam completed")
+                .status(ResultOutboxEvent.Status.PENDING)
+                .deliveryAttempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
+    }
+
+    @Scheduled(fixedDelayString = "${app.exams.outbox.poll-ms:5000}")
+    public void dispatch() {
+        List<ResultOutboxEvent> batch;
+        do {
+            batch = claimDue();
+            if (batch.isEmpty()) return;
+            deliver(batch);
+        } while (batch.size() == batchSize);
+    }
+
+    // Short transaction: lock due rows and push their next attempt out by the lease
+    private List<ResultOutboxEvent> claimDue() {
+        return tx.execute(status -> {
+            Instant now = Instant.now();
+            List<ResultOutboxEvent> due = outboxRepo.lockDue(now, batchSize);
+            due.forEach(e -> e.setNextAttemptAt(now.plusMillis(leaseMs)));
+            return due;
+        });
+    }
+
+    // HTTP call runs outside any transaction
+    private void deliver(List<ResultOutboxEvent> batch) {
+        List<String> ids = batch.stream().map(ResultOutboxEvent::getId).toList();
+        try {
+            studentProgressClient.updateProgressAfterExams(batch.stream().map(this::toRequest).toList());
+        } catch (Exception e) {
+            if (batch.size() > 1 && isRejected(e)) {
+                // The receiver applies a batch in one transaction; redeliver one by one so only
+                // the bad result backs off (already-applied eventIds are skipped downstream)
+                logger.warn("Batch of {} exam results rejected ({}); delivering individually", batch.size(), e.getMessage());
+                batch.forEach(event -> deliver(List.of(event)));
+                return;
+            }
+            logger.warn("Failed to deliver {} exam results: {}", batch.size(), e.getMessage());
+            tx.executeWithoutResult(status -> outboxRepo.findAllById(ids).forEach(ev -> scheduleRetry(ev, e)));
+            return;
+        }
+        tx.executeWithoutResult(status -> outboxRepo.markSent(ids, Instant.now(), ResultOutboxEvent.Status.SENT));
+    }
+
+    // The receiver answered with an error; connection failures and timeouts retry the whole batch
+    private static boolean isRejected(Exception e) {
+        return e instanceof FeignException fe && fe.status() >= 400;
+    }
+
+    private void scheduleRetry(ResultOutboxEvent event, Exception cause) {
+        int attempts = event.getDeliveryAttempts() + 1;
+        event.setDeliveryAttempts(attempts);
+        String message = String.valueOf(cause.getMessage());
+        event.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(ResultOutboxEvent.Status.DEAD);
+            logger.error("Giving up on exam result for attempt {} after {} attempts", event.getAttemptId(), attempts);
+            return;
+        }
+        // Exponential backoff with jitter, capped
+        long delay = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 20));
+        delay += ThreadLocalRandom.current().nextLong(delay / 4 + 1);
+        event.setNextAttemptAt(Instant.now().plus(Duration.ofMillis(delay)));
+    }
+
+    private ExamResultUpdateRequest toRequest(ResultOutboxEvent event) {
+        ExamResultUpdateRequest req = new ExamResultUpdateRequest();
+        req.eventId = event.getAttemptId();
+        req.studentId = event.getStudentId();
+        req.courseId = event.getCourseId();
+        req.moduleName = event.getModuleName();
+        req.score = event.getScore();
+        req.passed = event.getPassed();
+        req.notes = event.getNotes();
+        return req;
+    }
+}
@@ -1,50 +1,93 @@
 package com.endesha360.test_service.service;
 
-import com.endesha360.test_service.client.StudentProgressClient;
-import com.endesha360.test_service.client.ExamResultUpdateRequest;
-
 import com.endesha360.test_service.client.QuestionClient;
 import com.endesha360.test_service.dto.*;
 import com.endesha360.test_service.model.AttemptQuestion;
+import com.endesha360.test_service.model.QuestionVersion;
 import com.endesha360.test_service.model.TestAttempt;
 import com.endesha360.test_service.repository.AttemptQuestionRepository;
 import com.endesha360.test_service.repository.TestAttemptRepository;
-import jakarta.transaction.Transactional;
+import com.endesha360.test_service.repository.TestResultView;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 public class TestService {
+    private static final Logger logger = LoggerFactory.getLogger(TestService.class);
 
     @Autowired private TestAttemptRepository attemptRepo;
     @Autowired private AttemptQuestionRepository aqRepo;
+    @Autowired private QuestionPoolCache questionPoolCache;
     @Autowired private QuestionClient questionClient;
-    @Autowired private StudentProgressClient studentProgressClient;
+    @Autowired private ResultOutboxDispatcher resultOutboxDispatcher;
+    @Autowired private IntegrityEventBuffer integrityEventBuffer;
+    @Autowired private QuestionVersionStore questionVersionStore;
+    @Autowired private AnswerAutosaveBuffer answerAutosaveBuffer;
+    @Autowired private ActiveAttemptRegistry activeAttemptRegistry;
+    @Autowired private AttemptDeadlines attemptDeadlines;
+    @Autowired private PlatformTransactionManager transactionManager;
 
+    // COMPACT: attempt questions reference a content-hashed QuestionVersion instead of copying it
+    @Value("#{'${app.exams.snapshot.mode:FULL}' == 'COMPACT'}")
+    private boolean compactSnapshots;
 
+    @Value("${app.exams.selection.enabled:true}")
+    private boolean adaptiveSelection;
 
-    @Transactional
-    public StartTestResponse startExam(StartTestRequest req, String ip, String ua) {
-        // One-time access: only one active attempt per student
-        attemptRepo.findFirstByStudentIdAndStatusIn(
-                req.getStudentId(), List.of(TestAttempt.Status.CREATED, TestAttempt.Status.ACTIVE)
-        ).ifPresent(a -> { throw new RuntimeException("Active attempt exists for this student"); });
+    private TransactionTemplate tx;
+
+    @PostConstruct
+    void init() {
+        tx = new TransactionTemplate(transactionManager);
+    }
 
 
-        // Pull pool from question-service (INCLUDES answers; frontend never sees them)
-        List<QuestionClient.QuestionInternalDto> pool =
-                questionClient.getPool(req.getCategoryId(), req.getLevelId(), 500);
-        if (pool.isEmpty()) throw new RuntimeException("Question pool is empty");
 
-        // Randomize and pick requested count
-        Collections.shuffle(pool);
-        List<QuestionClient.QuestionInternalDto> picked =
-                pool.stream().limit(req.getCount()).toList();
+    // Not transactional: questions are picked first, so the selection call never holds a connection
+    public StartTestResponse startExam(StartTestRequest req, String ip, String ua) {
+        List<QuestionClient.QuestionInternalDto> picked = pickQuestions(req);
+        return tx.execute(status -> createAttempt(req, picked, ip, ua));
+    }
+
+    /**
+     * Balanced selection from questions-service item statistics; falls back to the locally cached pool
+     * when selection is disabled, unavailable, or cannot fill the exam (e.g. exposure caps on a small bank).
+     * Both INCLUDE answers; the frontend never sees them.
+     */
+    private List<QuestionClient.QuestionInternalDto> pickQuestions(StartTestRequest req) {
+        if (adaptiveSelection) {
+            try {
+                List<QuestionClient.QuestionInternalDto> selected = questionClient.select(
+                        req.getCategoryId() != null ? List.of(req.getCategoryId()) : null,
+                        req.getLevelId(), req.getCount());
+                if (selected.size() >= req.getCount()) return selected;
+                logger.debug("Selection returned {} of {} questions; sampling the local pool",
+                        selected.size(), req.getCount());
+            } catch (Exception e) {
+                logger.warn("Question selection failed, sampling the local pool: {}", e.getMessage());
+            }
+        }
+        return questionPoolCache.sample(req.getCategoryId(), req.getLevelId(), req.getCount());
+    }
+
+    private StartTestResponse createAttempt(StartTestRequest req, List<QuestionClient.QuestionInternalDto> picked,
+                                            String ip, String ua) {
+        // One-time access: only one active attempt per student (local slot + partial unique index)
+        ActiveAttemptRegistry.Slot slot = activeAttemptRegistry.reserve(req.getStudentId());
 
         // Build attempt
         Instant now = Instant.now();
@@ -60,41 +103,63 @@ public class TestService {
                 .tabSwitches(0)
                 .focusLosses(0)
                 .fullscreenExits(0)
+                .statsReported(false)
                 .build();
 
+        Map<Long, QuestionVersion> versions = compactSnapshots
+                ? questionVersionStore.ensureVersions(picked) : Map.of();
+
         // Copy + shuffle options per question
         List<AttemptQuestion> snapshots = new ArrayList<>();
+        List<TestQuestionDto> qdto = new ArrayList<>();
         int idx = 0;
         for (QuestionClient.QuestionInternalDto q : picked) {
-            List<String> options = new ArrayList<>(q.getOptions());
-            Collections.shuffle(options);
-            snapshots.add(AttemptQuestion.builder()
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < q.getOptions().size(); i++) order.add(i);
+            Collections.shuffle(order);
+            List<String> options = order.stream().map(q.getOptions()::get).toList();
+
+            AttemptQuestion.AttemptQuestionBuilder snapshot = AttemptQuestion.builder()
                     .attempt(attempt)
                     .questionId(q.getId())
+                    .flagged(false)
+                    .indexInExam(idx);
+            if (compactSnapshots && order.size() <= 0xFF) {
+                // Reference the shared version; keep only the delivered order
+                byte[] permutation = new byte[order.size()];
+                for (int i = 0; i < permutation.length; i++) permutation[i] = order.get(i).byteValue();
+                snapshot.questionVersion(versions.get(q.getId()).getHash())
+                        .optionPermutation(permutation);
+            } else {
+                snapshot.questionText(q.getQuestionText())
+                        .imageUrl(q.getImageUrl())
+                        .optionOrder(options)
+                        .correctAnswer(q.getCorrectAnswer()); // server-side only
+            }
+            snapshots.add(snapshot.build());
+
+            // Build safe response (no answers)
+            qdto.add(TestQuestionDto.builder()
+                    .index(idx++)
+                    .questionId(q.getId())
                     .questionText(q.getQuestionText())
                     .imageUrl(q.getImageUrl())
-                    .optionOrder(options)
-                    .correctAnswer(q.getCorrectAnswer()) // server-side only
+                    .options(options)
                     .flagged(false)
-                    .indexInExam(idx++)
                     .build());
         }
         attempt.setQuestions(snapshots);
 
-        attempt = attemptRepo.save(attempt);
-
-        // Build safe response (no answers)
-        List<TestQuestionDto> qdto = attempt.getQuestions().stream()
-                .sorted(Comparator.comparing(AttemptQuestion::getIndexInExam))
-                .map(aq -> TestQuestionDto.builder()
-                        .index(aq.getIndexInExam())
-                        .questionId(aq.getQuestionId())
-                        .questionText(aq.getQuestionText())
-                        .imageUrl(aq.getImageUrl())
-                        .options(aq.getOptionOrder())
-                        .flagged(aq.getFlagged())
-                        .build())
-                .toList();
+        try {
+            // Flush now so a concurrent start on another instance surfaces here, not at commit
+            attempt = attemptRepo.saveAndFlush(attempt);
+        } catch (DataIntegrityViolationException e) {
+            if (activeAttemptRegistry.isDuplicate(e)) {
+                throw new RuntimeException("Active attempt exists for this student");
+            }
+            throw e;
+        }
+        activeAttemptRegistry.bind(slot, attempt);
 
         return StartTestResponse.builder()
                 .attemptId(attempt.getId())
@@ -105,15 +170,25 @@ public class TestService {
                 .build();
     }
 
-    @Transactional
+    // Not transactional: buffered writes are flushed first in their own statements, so a failed flush
+    // fails the submit cleanly instead of aborting the scoring transaction midway
     public SubmitTestResponse submit(String attemptId, SubmitTestRequest req, String ip) {
-        TestAttempt a = attemptRepo.findById(attemptId)
-                .orElseThrow(() -> new RuntimeException("Attempt not found"));
-
         // Soft IP/UA pin check → bump counters if mismatch
-        if (a.getIpAddress() != null && !a.getIpAddress().equals(ip)) {
-            a.setTabSwitches(a.getTabSwitches() + 1);
+        Optional<String> pinnedIp = attemptRepo.findIpAddressById(attemptId);
+        if (pinnedIp.isPresent() && !pinnedIp.get().equals(ip)) {
+            integrityEventBuffer.record(attemptId, "TAB_SWITCH");
         }
+        // Push buffered integrity counts before finalizing (entity updates never write the counters)
+        integrityEventBuffer.flush(List.of(attemptId));
+        // Autosaved answers are committed before scoring starts; the transaction below sees them
+        answerAutosaveBuffer.flush(List.of(attemptId));
+
+        return tx.execute(status -> finalizeSubmit(attemptId, req));
+    }
+
+    private SubmitTestResponse finalizeSubmit(String attemptId, SubmitTestRequest req) {
+        TestAttempt a = attemptRepo.findById(attemptId)
+                .orElseThrow(() -> new RuntimeException("Attempt not found"));
 
         // If time passed → mark EXPIRED
         Instant now = Instant.now();
@@ -121,43 +196,37 @@ public class TestService {
             a.setStatus(TestAttempt.Status.EXPIRED);
         }
 
+        // Autosaving clients submit without answers: nothing to rewrite, just score and flip status.
+        // Answers still sent in the request override the persisted ones for those questions only.
         Map<Long, String> answers = req.getAnswers() == null ? Map.of() :
-                req.getAnswers().stream().collect(Collectors.toMap(
-                        AnswerDto::getQuestionId, AnswerDto::getSelectedOption, (x, y) -> y
-                ));
+                req.getAnswers().stream().collect(HashMap::new,
+                        (m, ans) -> m.put(ans.getQuestionId(), ans.getSelectedOption()), HashMap::putAll);
+        List<Long> flaggedIds = req.getFlaggedQuestionIds() == null ? List.of() : req.getFlaggedQuestionIds();
 
-        int score = 0;
-        for (AttemptQuestion aq : a.getQuestions()) {
-            String sel = answers.get(aq.getQuestionId());
-            aq.setSelectedOption(sel);
-            if (sel != null && sel.equals(aq.getCorrectAnswer())) score++;
-            if (req.getFlaggedQuestionIds() != null &&
-                    req.getFlaggedQuestionIds().contains(aq.getQuestionId())) {
-                aq.setFlagged(true);
+        if (!answers.isEmpty() || !flaggedIds.isEmpty()) {
+            Map<String, QuestionVersion> versions = questionVersionStore.load(a.getQuestions().stream()
+                    .map(AttemptQuestion::getQuestionVersion).filter(Objects::nonNull).toList());
+            for (AttemptQuestion aq : a.getQuestions()) {
+                if (answers.containsKey(aq.getQuestionId())) {
+                    applySelection(aq, answers.get(aq.getQuestionId()), versions);
+                }
+                if (flaggedIds.contains(aq.getQuestionId())) {
+                    aq.setFlagged(true);
+                }
             }
+            attemptRepo.flush();
         }
 
-        a.setScore(score);
+        a.setScore(aqRepo.countCorrect(attemptId));
         if (a.getStatus() != TestAttempt.Status.EXPIRED) {
             a.setStatus(TestAttempt.Status.SUBMITTED);
         }
         attemptRepo.save(a);
+        activeAttemptRegistry.release(List.of(attemptId));
+        attemptDeadlines.forget(List.of(attemptId));
 
-                // Call Student Management Service to update progress
-                try {
-                        ExamResultUpdateRequest updateReq = new ExamResultUpdateRequest();
-                        updateReq.studentId = a.getStudentId();
-                        // You may need to fetch courseId/moduleName from context or question metadata
-                        updateReq.courseId = null; // Set appropriately
-                        updateReq.moduleName = "Exam"; // Or set dynamically
-                        updateReq.score = (double) a.getScore();
-                        updateReq.passed = a.getScore() != null && a.getScore() >= (a.getTotalQuestions() * 0.7); // Example: 70% pass
-                        updateReq.notes = "Exam completed";
-                        studentProgressClient.updateProgressAfterExam(updateReq);
-                } catch (Exception ex) {
-                        // Log error but do not fail submission
-                        System.err.println("Failed to update student progress: " + ex.getMessage());
-                }
+        // Progress update is delivered asynchronously from the outbox, committed with this attempt
+        resultOutboxDispatcher.enqueue(a);
 
         return SubmitTestResponse.builder()
                 .attemptId(a.getId())
@@ -168,60 +237,60 @@ public class TestService {
                 .build();
     }
 
-    @Transactional
-    public void recordEvent(String attemptId, String type) {
-        TestAttempt a = attemptRepo.findById(attemptId)
-                .orElseThrow(() -> new RuntimeException("Attempt not found"));
-        switch (type) {
-            case "TAB_SWITCH" -> a.setTabSwitches(a.getTabSwitches() + 1);
-            case "FOCUS_LOSS" -> a.setFocusLosses(a.getFocusLosses() + 1);
-            case "FULLSCREEN_EXIT" -> a.setFullscreenExits(a.getFullscreenExits() + 1);
-            default -> {}
+    /** Stores the selection on the snapshot: option text (full) or index into the version's options (compact). */
+    private void applySelection(AttemptQuestion aq, String sel, Map<String, QuestionVersion> versions) {
+        if (aq.getQuestionVersion() == null) {
+            aq.setSelectedOption(sel);
+            return;
         }
-        attemptRepo.save(a);
+        QuestionVersion version = versions.get(aq.getQuestionVersion());
+        int i = sel == null || version == null ? -1 : Arrays.asList(version.getOptions()).indexOf(sel);
+        aq.setSelectedIndex(i < 0 ? null : (short) i);
     }
 
-        // Auto-sweeper: finalize expired attempts (unanswered = wrong)
-    @Scheduled(fixedDelay = 60_000)
-    @Transactional
-    public void sweepExpired() {
-        List<TestAttempt> expired = attemptRepo.findAll().stream()
-                .filter(a -> a.getStatus() == TestAttempt.Status.ACTIVE)
-                .filter(a -> Instant.now().isAfter(a.getEndsAt()))
-                .toList();
+    public void saveAnswer(String attemptId, int index, AnswerSaveRequest req) {
+        answerAutosaveBuffer.save(attemptId, index, req.getSelectedOption(), req.getFlagged());
+    }
 
-        for (TestAttempt a : expired) {
-            // Auto-score unanswered = wrong
-            int score = 0;
-            for (AttemptQuestion aq : a.getQuestions()) {
-                if (aq.getSelectedOption() != null && aq.getSelectedOption().equals(aq.getCorrectAnswer())) {
-                    score++;
-                }
-            }
-            a.setScore(score);
-            a.setStatus(TestAttempt.Status.EXPIRED);
-        }
-        attemptRepo.saveAll(expired);
+    public void recordEvent(String attemptId, String type) {
+        // Unknown, finalized or ended attempts are rejected before anything is buffered
+        attemptDeadlines.requireActive(attemptId);
+        integrityEventBuffer.record(attemptId, type);
     }
 
-    public List<TestResultDto> getStudentTestResults(Long studentId) {
-        List<TestAttempt> attempts = attemptRepo.findByStudentIdAndStatusInOrderByStartedAtDesc(
-                studentId, List.of(TestAttempt.Status.SUBMITTED, TestAttempt.Status.EXPIRED)
-        );
+    private static final List<TestAttempt.Status> RESULT_STATUSES =
+            List.of(TestAttempt.Status.SUBMITTED, TestAttempt.Status.EXPIRED);
 
-        return attempts.stream()
+    public List<TestResultDto> getStudentTestResults(Long studentId) {
+        return attemptRepo.findResults(studentId, RESULT_STATUSES, Pageable.unpaged()).stream()
                 .map(this::convertToTestResultDto)
                 .toList();
     }
 
+    /** Newest-first page of results; pass the previous page's nextCursor to continue. */
+    public TestResultPage getStudentTestResultPage(Long studentId, String cursor, int size) {
+        Pageable limit = PageRequest.of(0, Math.max(1, Math.min(size, 100)));
+        List<TestResultView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = attemptRepo.findResults(studentId, RESULT_STATUSES, limit);
+        } else {
+            Cursor key = decodeCursor(cursor);
+            rows = attemptRepo.findResultsBefore(studentId, RESULT_STATUSES, key.startedAt(), key.id(), limit);
+        }
+
+        TestResultView last = rows.size() == limit.getPageSize() ? rows.get(rows.size() - 1) : null;
+        return TestResultPage.builder()
+                .results(rows.stream().map(this::convertToTestResultDto).toList())
+                .nextCursor(last == null ? null : encodeCursor(last.getStartedAt(), last.getId()))
+                .build();
+    }
+
     public Optional<TestResultDto> getTestResult(String attemptId) {
-        return attemptRepo.findById(attemptId)
-                .filter(attempt -> attempt.getStatus() == TestAttempt.Status.SUBMITTED || 
-                                 attempt.getStatus() == TestAttempt.Status.EXPIRED)
+        return attemptRepo.findResultById(attemptId, RESULT_STATUSES)
                 .map(this::convertToTestResultDto);
     }
 
-    private TestResultDto convertToTestResultDto(TestAttempt attempt) {
+    private TestResultDto convertToTestResultDto(TestResultView attempt) {
         double percentage = attempt.getTotalQuestions() == 0 ? 0.0 : 
                            (attempt.getScore() * 100.0 / attempt.getTotalQuestions());
         
@@ -240,4 +309,22 @@ public class TestService {
                 .fullscreenExits(attempt.getFullscreenExits())
                 .build();
     }
+
+    // Opaque cursor: base64url("<startedAt ISO>|<attemptId>")
+    private static String encodeCursor(Instant startedAt, String id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startedAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String[] key = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 2);
+            if (key.length != 2) throw new IllegalArgumentException();
+            return new Cursor(Instant.parse(key[0]), key[1]);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid results cursor");
+        }
+    }
+
+    private record Cursor(Instant startedAt, String id) {}
 }